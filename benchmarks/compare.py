@@ -0,0 +1,59 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files and fails when a benchmark got slower.
+
+Usage: compare.py <baseline.json> <current.json> [--threshold 0.10]
+
+A benchmark counts as a regression when its score is worse than the baseline by more than the
+threshold and the difference is larger than the combined error of both runs.
+"""
+import argparse
+import json
+import math
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    scores = {}
+    for result in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted(result.get("params", {}).items()))
+        key = result["benchmark"] + (f" [{params}]" if params else "")
+        metric = result["primaryMetric"]
+        # JMH reports the error as "NaN" when there were too few iterations to compute one
+        error = float(metric["scoreError"])
+        scores[key] = (metric["score"], 0.0 if math.isnan(error) else error, metric["scoreUnit"], result["mode"])
+    return scores
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=0.10)
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+    for key in sorted(current):
+        if key not in baseline:
+            print(f"NEW   {key}")
+            continue
+        base_score, base_error, unit, mode = baseline[key]
+        score, error, _, _ = current[key]
+        # Throughput is better when higher, every other mode when lower
+        change = (base_score - score) / base_score if mode == "thrpt" else (score - base_score) / base_score
+        regressed = change > args.threshold and abs(score - base_score) > base_error + error
+        regressions += regressed
+        print(f"{'SLOWER' if regressed else 'ok':6} {key}: {base_score:.3f} -> {score:.3f} {unit} ({change:+.1%})")
+    for key in sorted(set(baseline) - set(current)):
+        print(f"GONE  {key}")
+
+    if regressions:
+        print(f"{regressions} benchmark(s) regressed by more than {args.threshold:.0%}")
+        sys.exit(1)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,78 @@
+package com.linkuni.backend.benchmarks;
+
+import com.linkuni.backend.dto.AuthorDto;
+import com.linkuni.backend.dto.PostDto;
+import com.linkuni.backend.dto.UserDto;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done for every post and profile response. The page benchmark maps a
+ * feed page of posts, each with its author.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    // Number of likes per post and of followers, followings, posts and saved posts per user
+    @Param({"10", "1000"})
+    private int relations;
+
+    private User user;
+    private Post post;
+    private List<Post> page;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        user = SyntheticData.user(random, relations);
+        post = SyntheticData.post(random, user, relations);
+        page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(SyntheticData.post(random, SyntheticData.user(random, relations), relations));
+        }
+    }
+
+    @Benchmark
+    public PostDto postDtoFromPost() {
+        return PostDto.fromPost(post);
+    }
+
+    @Benchmark
+    public AuthorDto authorDtoFromUser() {
+        return AuthorDto.fromUser(user);
+    }
+
+    @Benchmark
+    public UserDto userDtoFromUser() {
+        return UserDto.fromUser(user);
+    }
+
+    @Benchmark
+    public void postDtosForPage(Blackhole blackhole) {
+        for (Post pagePost : page) {
+            blackhole.consume(PostDto.fromPost(pagePost));
+        }
+    }
+}
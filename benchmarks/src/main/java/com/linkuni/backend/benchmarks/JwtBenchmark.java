@@ -0,0 +1,71 @@
+package com.linkuni.backend.benchmarks;
+
+import com.linkuni.backend.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation on login and validation plus user ID extraction, which JwtAuthFilter does on
+ * every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private UUID userId;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        // The fields Spring injects from app.jwt.*
+        DirectFieldAccessor fields = new DirectFieldAccessor(jwtUtils);
+        fields.setPropertyValue("jwtSecret", "benchmark-secret-of-at-least-sixty-four-bytes-as-required-for-hs512-signing");
+        fields.setPropertyValue("jwtExpiration", 86_400_000L);
+        fields.setPropertyValue("activationExpiration", 3_600_000L);
+        fields.setPropertyValue("resetExpiration", 900_000L);
+
+        userId = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+        token = jwtUtils.generateTokenFromUserId(userId);
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUserId(userId);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return jwtUtils.validateToken(tamperedToken);
+    }
+
+    @Benchmark
+    public UUID getUserIdFromToken() {
+        return jwtUtils.getUserIdFromToken(token);
+    }
+}
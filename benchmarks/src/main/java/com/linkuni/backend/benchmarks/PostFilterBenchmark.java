@@ -0,0 +1,114 @@
+package com.linkuni.backend.benchmarks;
+
+import com.linkuni.backend.dto.PostFilterRequest;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.PostReport;
+import com.linkuni.backend.model.User;
+import com.linkuni.backend.repository.PostSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.SelectionQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application-side cost of the post filter: building the specification chain from a filter
+ * request and turning it into a Hibernate query. The filtering itself runs in the database, so it is
+ * covered by the load tests rather than here. Hibernate is bootstrapped for PostgreSQL without a
+ * connection; nothing in the benchmark executes a query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostFilterBenchmark {
+
+    @Param({"anonymous", "viewer"})
+    private String viewer;
+
+    @Param({"none", "category", "all"})
+    private String criteria;
+
+    private StandardServiceRegistry serviceRegistry;
+    private SessionFactory sessionFactory;
+    private Session session;
+    private PostFilterRequest filterRequest;
+    private UUID viewerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .build();
+        sessionFactory = new MetadataSources(serviceRegistry)
+                .addAnnotatedClass(Post.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(PostReport.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+
+        viewerId = "viewer".equals(viewer) ? UUID.fromString("00000000-0000-0000-0000-00000000000a") : null;
+        filterRequest = new PostFilterRequest();
+        if (!"none".equals(criteria)) {
+            filterRequest.setProgram("Computer Science");
+            filterRequest.setCourse("COURSE204");
+            filterRequest.setResourceType("Notes");
+        }
+        if ("all".equals(criteria)) {
+            filterRequest.setFileType("pdf");
+            filterRequest.setKeyword("dynamic_programming 100%");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+
+    @Benchmark
+    public Specification<Post> buildSpecification() {
+        return PostSpecifications.matching(filterRequest, viewerId);
+    }
+
+    @Benchmark
+    public SelectionQuery<Post> buildQuery() {
+        Specification<Post> specification = PostSpecifications.matching(filterRequest, viewerId);
+        // What SimpleJpaRepository.findAll(Specification, Sort) does before executing
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<Post> query = cb.createQuery(Post.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(root).where(specification.toPredicate(root, query, cb));
+        query.orderBy(cb.desc(root.get("createdAt")));
+        return session.createSelectionQuery(query);
+    }
+}
@@ -0,0 +1,78 @@
+package com.linkuni.backend.benchmarks;
+
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic users and posts shaped like production rows, so results are comparable between runs.
+ * Public for the benchmarks that have to live in the package of the code they measure.
+ */
+public final class SyntheticData {
+
+    private static final String[] PROGRAMS = {"Computer Science", "Mechanical Engineering", "Biology", "Economics"};
+    private static final String[] RESOURCE_TYPES = {"Notes", "Past Paper", "Assignment", "Slides"};
+    private static final String[] FILE_TYPES = {"application/pdf", "image/png",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation"};
+
+    private SyntheticData() {
+    }
+
+    public static User user(Random random, int relations) {
+        User user = new User();
+        user.setUserId(new UUID(random.nextLong(), random.nextLong()));
+        user.setUsername("user" + random.nextInt(100_000));
+        user.setFirstname("Firstname");
+        user.setLastname("Lastname");
+        user.setEmail(user.getUsername() + "@university.edu");
+        user.setProfilePicture("https://cdn.example.com/avatars/" + user.getUsername() + ".png");
+        user.setShareSpaceProfileUsername(user.getUsername());
+        user.setShareSpaceProfileType("linkedin");
+        user.setProgram(PROGRAMS[random.nextInt(PROGRAMS.length)]);
+        user.setYearOfGraduation("2027");
+        user.setIsAdmin(false);
+        user.setIsOnboarded(true);
+        user.setFollowers(uuids(random, relations));
+        user.setFollowings(uuids(random, relations));
+        user.setPosts(uuids(random, relations));
+        user.setSavedPosts(uuids(random, relations));
+        user.setBlacklistedPosts(new ArrayList<>());
+        user.setPostCount(relations);
+        user.setFollowerCount(relations);
+        return user;
+    }
+
+    public static Post post(Random random, User author, int likes) {
+        Post post = new Post();
+        post.setPostId(new UUID(random.nextLong(), random.nextLong()));
+        post.setUser(author);
+        post.setTitle("Lecture notes week " + random.nextInt(14));
+        post.setDescription("Summary of the lectures, worked examples and exam tips for the course.");
+        post.setFileKey(System.currentTimeMillis() / 1000 + "__notes.pdf");
+        post.setFileUrl("https://bucket.s3.amazonaws.com/" + post.getFileKey());
+        post.setFileType(FILE_TYPES[random.nextInt(FILE_TYPES.length)]);
+        post.setFileName("notes.pdf");
+        post.setProgram(author.getProgram());
+        post.setCourse("COURSE" + (100 + random.nextInt(400)));
+        post.setResourceType(RESOURCE_TYPES[random.nextInt(RESOURCE_TYPES.length)]);
+        post.setLikes(uuids(random, likes));
+        post.setIsBlacklisted(false);
+        post.setReportCount(0);
+        post.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000)));
+        post.setUpdatedAt(post.getCreatedAt());
+        return post;
+    }
+
+    public static List<UUID> uuids(Random random, int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,55 @@
+package com.linkuni.backend.benchmarks;
+
+import com.linkuni.backend.model.TextExtract;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of the extractor's per-page response into the JSON stored with each document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextExtractBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int pages;
+
+    private Map<String, Object> extractionResult;
+
+    @Setup
+    public void setUp() {
+        // Roughly 2 KB of text per page, with the quotes, backslashes and line breaks that need escaping
+        String pageText = ("Lecture 4: \"Dynamic programming\"\n\tMemoize C:\\path results; "
+                + "compare with greedy approaches and prove optimal substructure.\n").repeat(16);
+        Map<String, Object> text = new HashMap<>();
+        for (int page = 1; page <= pages; page++) {
+            text.put(String.valueOf(page), pageText);
+        }
+        extractionResult = new HashMap<>();
+        extractionResult.put("text", text);
+    }
+
+    @Benchmark
+    public String setTextFromMap() {
+        TextExtract textExtract = new TextExtract();
+        textExtract.setTextFromMap(extractionResult);
+        return textExtract.getExtractedText();
+    }
+}
@@ -0,0 +1,240 @@
+package com.linkuni.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.linkuni.backend.benchmarks.SyntheticData;
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.dto.AuthorDto;
+import com.linkuni.backend.dto.PostDto;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a response of 1,000 posts, as returned by a broad filter. Compares the former
+ * mutable bean with a map for the category against the record DTOs, through the untyped
+ * ApiResponse envelope and through JsonListWriter, with and without the Blackbird module.
+ * Output goes to a discarding stream so only serialization is measured. Lives in the controller
+ * package because JsonListWriter is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSerializationBenchmark {
+
+    private static final int POSTS = 1000;
+    private static final int LIKES = 10;
+
+    @Param({"default", "blackbird"})
+    private String modules;
+
+    private final OutputStream sink = new DiscardingStream();
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter postWriter;
+    private ApiResponse beanResponse;
+    private ApiResponse recordResponse;
+    private List<PostDto> records;
+
+    @Setup
+    public void setUp() {
+        // Configured like Spring Boot's mapper
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(modules)) {
+            builder.addModule(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        postWriter = JsonListWriter.elementWriter(objectMapper, PostDto.class);
+
+        Random random = new Random(42);
+        List<BeanPostDto> beans = new ArrayList<>(POSTS);
+        records = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            User author = SyntheticData.user(random, LIKES);
+            Post post = SyntheticData.post(random, author, LIKES);
+            beans.add(BeanPostDto.fromPost(post, "Summary not available"));
+            records.add(PostDto.fromPost(post, "Summary not available"));
+        }
+        beanResponse = ApiResponse.success("Posts filtered successfully", beans);
+        recordResponse = ApiResponse.success("Posts filtered successfully", records);
+    }
+
+    @Benchmark
+    public void beanWithMapCategory() throws IOException {
+        objectMapper.writeValue(sink, beanResponse);
+    }
+
+    @Benchmark
+    public void record() throws IOException {
+        objectMapper.writeValue(sink, recordResponse);
+    }
+
+    @Benchmark
+    public int recordStreamed() throws IOException {
+        try (JsonListWriter<PostDto> writer = JsonListWriter.start(sink, postWriter, "Posts filtered successfully")) {
+            for (PostDto post : records) {
+                writer.write(post);
+            }
+            return writer.count();
+        }
+    }
+
+    /**
+     * Drops everything written to it and, unlike OutputStream.nullOutputStream(), stays usable after
+     * ObjectMapper.writeValue has closed it
+     */
+    private static final class DiscardingStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
+    /**
+     * The post DTO as it was before it became a record, for comparison
+     */
+    public static class BeanPostDto {
+        private UUID _id;
+        private UUID userId;
+        private String title;
+        private String desc;
+        private String fileUrl;
+        private String fileKey;
+        private String fileType;
+        private String fileName;
+        private Map<String, String> category;
+        private String userFirstName;
+        private String userLastName;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private List<UUID> likes;
+        private AuthorDto author;
+        private String summary;
+        private String extractedText;
+
+        static BeanPostDto fromPost(Post post, String summary) {
+            BeanPostDto dto = new BeanPostDto();
+            dto._id = post.getPostId();
+            dto.userId = post.getUser().getUserId();
+            dto.title = post.getTitle();
+            dto.desc = post.getDescription();
+            dto.fileUrl = post.getFileUrl();
+            dto.fileKey = post.getFileKey();
+            dto.fileType = post.getFileType();
+            dto.fileName = post.getFileName();
+            dto.category = new HashMap<>();
+            dto.category.put("program", post.getProgram());
+            dto.category.put("course", post.getCourse());
+            dto.category.put("resourceType", post.getResourceType());
+            dto.userFirstName = post.getUser().getFirstname();
+            dto.userLastName = post.getUser().getLastname();
+            dto.createdAt = post.getCreatedAt();
+            dto.updatedAt = post.getUpdatedAt();
+            dto.likes = post.getLikes();
+            dto.author = AuthorDto.fromUser(post.getUser());
+            dto.summary = summary;
+            return dto;
+        }
+
+        public UUID get_id() {
+            return _id;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getDesc() {
+            return desc;
+        }
+
+        public String getFileUrl() {
+            return fileUrl;
+        }
+
+        public String getFileKey() {
+            return fileKey;
+        }
+
+        public String getFileType() {
+            return fileType;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public Map<String, String> getCategory() {
+            return category;
+        }
+
+        public String getUserFirstName() {
+            return userFirstName;
+        }
+
+        public String getUserLastName() {
+            return userLastName;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public List<UUID> getLikes() {
+            return likes;
+        }
+
+        public AuthorDto getAuthor() {
+            return author;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        public String getExtractedText() {
+            return extractedText;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.linkuni.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sanitizing of uploaded file names before they become S3 keys. Lives in the service package
+ * because S3Service.sanitizeFileName is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileNameBenchmark {
+
+    @Param({"notes.pdf", "Week 3 - Lecture Slides (final) v2.pptx", "Résumé été 2024 – brouillon №3.docx"})
+    private String fileName;
+
+    @Benchmark
+    public String sanitizeFileName() {
+        return S3Service.sanitizeFileName(fileName);
+    }
+}
@@ -0,0 +1,4 @@
+#!/bin/bash
+# Lets the read replica stream WAL from this server. Runs once, when the data directory is initialized.
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
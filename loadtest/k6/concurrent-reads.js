@@ -0,0 +1,57 @@
+// Load test for platform versus virtual request threads.
+//
+// Holds a fixed number of concurrent connections (2000 by default), each issuing requests back
+// to back against a mix of read endpoints that block on PostgreSQL. Run it once with the default
+// platform threads and once with SPRING_THREADS_VIRTUAL_ENABLED=true on JDK 21, and compare the
+// request rate (http_reqs) and the http_req_duration percentiles.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e POST_IDS=<id1,...> -e USER_IDS=<id1,...> k6/concurrent-reads.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const POST_IDS = (__ENV.POST_IDS || '').split(',').filter((id) => id.length > 0);
+const USER_IDS = (__ENV.USER_IDS || '').split(',').filter((id) => id.length > 0);
+
+export const options = {
+    scenarios: {
+        concurrent_reads: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.CONNECTIONS || 2000),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    if (POST_IDS.length === 0 || USER_IDS.length === 0) {
+        throw new Error('POST_IDS and USER_IDS must each contain at least one ID');
+    }
+}
+
+function pick(ids) {
+    return ids[Math.floor(Math.random() * ids.length)];
+}
+
+export default function () {
+    const params = TOKEN ? { cookies: { token: TOKEN } } : {};
+    let res;
+    switch (Math.floor(Math.random() * 3)) {
+        case 0:
+            res = http.get(`${BASE_URL}/api/v1/posts/${pick(POST_IDS)}`, params);
+            break;
+        case 1:
+            res = http.get(`${BASE_URL}/api/v1/posts/all-post/${pick(USER_IDS)}`, params);
+            break;
+        default:
+            res = http.post(`${BASE_URL}/api/v1/posts/filter`, JSON.stringify({}),
+                Object.assign({ headers: { 'Content-Type': 'application/json' } }, params));
+    }
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,43 @@
+// Load test for GET /api/v1/posts/download-file/{postId}.
+//
+// Keeps a fixed number of downloads in flight against a local S3 stand-in. Run it once with the
+// non-blocking S3 path (default) and once with AWS_S3_ASYNC_ENABLED=false, keeping
+// server.tomcat.threads.max the same, and compare the request rate and http_req_duration.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e POST_IDS=<id1,...> k6/downloads.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const POST_IDS = (__ENV.POST_IDS || '').split(',').filter((id) => id.length > 0);
+
+export const options = {
+    scenarios: {
+        downloads: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.CONCURRENCY || 200),
+            duration: __ENV.DURATION || '1m',
+        },
+    },
+    // Bodies are only counted, not kept
+    discardResponseBodies: true,
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    if (POST_IDS.length === 0) {
+        throw new Error('POST_IDS must contain at least one post ID');
+    }
+}
+
+export default function () {
+    const postId = POST_IDS[Math.floor(Math.random() * POST_IDS.length)];
+    const params = TOKEN ? { cookies: { token: TOKEN } } : {};
+    const res = http.get(`${BASE_URL}/api/v1/posts/download-file/${postId}`, params);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
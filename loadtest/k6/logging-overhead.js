@@ -0,0 +1,44 @@
+// Load test for the cost of logging on the read path.
+//
+// A fixed number of clients issue back-to-back reads of single posts and of a user's posts, so the
+// request rate (http_reqs) is bounded by the server's CPU. Run it against the same build once with
+// logging as deployed and once with LOGGING_LEVEL_ROOT=OFF, and compare http_reqs and the
+// http_req_duration percentiles.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e POST_IDS=<id1,...> -e USER_ID=<id> k6/logging-overhead.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const POST_IDS = (__ENV.POST_IDS || '').split(',').filter((id) => id.length > 0);
+const USER_ID = __ENV.USER_ID;
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 50),
+            duration: __ENV.DURATION || '1m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    if (POST_IDS.length === 0 || !USER_ID) {
+        throw new Error('POST_IDS and USER_ID must be set');
+    }
+}
+
+export default function () {
+    const params = TOKEN ? { cookies: { token: TOKEN } } : {};
+    const res = Math.random() < 0.8
+        ? http.get(`${BASE_URL}/api/v1/posts/${POST_IDS[Math.floor(Math.random() * POST_IDS.length)]}`, params)
+        : http.get(`${BASE_URL}/api/v1/posts/all-post/${USER_ID}`, params);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
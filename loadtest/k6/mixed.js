@@ -0,0 +1,206 @@
+// End-to-end load test with a realistic mix of logins, feed and timeline reads, post views,
+// filtering, likes, uploads and downloads against seeded data.
+//
+// Requests arrive at a constant rate (RATE per second, 50 by default) regardless of how fast the
+// backend answers, so a slow endpoint shows up as latency instead of silently lowering the load.
+// Each virtual user logs in as a random seeded user on its first iteration and keeps the token
+// cookie. The mix can be changed with MIX, e.g. -e MIX=feed=40,upload=0.
+//
+// At the end, throughput, p50/p95/p99 and the error rate are printed per endpoint and written as
+// JSON to SUMMARY_FILE. Each endpoint has a p95 budget; the run fails when one is exceeded.
+//
+//   java -jar seeder/target/seeder.jar ...   (writes data/seed.json and data/upload.pdf)
+//   k6 run -e BASE_URL=http://localhost:8080 -e RATE=50 -e DURATION=5m k6/mixed.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SUMMARY_FILE = __ENV.SUMMARY_FILE || 'data/summary.json';
+const seed = JSON.parse(open(__ENV.SEED_FILE || '../data/seed.json'));
+const upload = open(__ENV.UPLOAD_FILE || '../data/upload.pdf', 'b');
+
+// Share of requests and p95 budget in milliseconds per endpoint
+const ENDPOINTS = {
+    login: { weight: 2, p95: 1000 },
+    feed: { weight: 25, p95: 300 },
+    timeline: { weight: 10, p95: 300 },
+    post: { weight: 20, p95: 200 },
+    filter: { weight: 15, p95: 500 },
+    like: { weight: 12, p95: 300 },
+    download: { weight: 12, p95: 2000 },
+    upload: { weight: 4, p95: 3000 },
+};
+
+for (const entry of (__ENV.MIX || '').split(',').filter((e) => e.length > 0)) {
+    const [name, weight] = entry.split('=');
+    if (!ENDPOINTS[name]) {
+        throw new Error(`Unknown endpoint in MIX: ${name}`);
+    }
+    ENDPOINTS[name].weight = Number(weight);
+}
+
+const ACTIVE = Object.keys(ENDPOINTS).filter((name) => ENDPOINTS[name].weight > 0);
+const TOTAL_WEIGHT = ACTIVE.reduce((sum, name) => sum + ENDPOINTS[name].weight, 0);
+const PROGRAMS = Object.keys(seed.courses);
+
+const thresholds = { http_req_failed: ['rate<0.01'] };
+for (const name of ACTIVE) {
+    // Thresholds on tagged submetrics also make them appear in the summary data
+    thresholds[`http_req_duration{endpoint:${name}}`] = [`p(95)<${ENDPOINTS[name].p95}`];
+    thresholds[`http_req_failed{endpoint:${name}}`] = ['rate<0.01'];
+    thresholds[`http_reqs{endpoint:${name}}`] = ['count>0'];
+}
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 50),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '5m',
+            preAllocatedVUs: Number(__ENV.VUS || 50),
+            maxVUs: Number(__ENV.MAX_VUS || 500),
+        },
+    },
+    // Bodies are not inspected; the token arrives as a cookie
+    discardResponseBodies: true,
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds,
+};
+
+let loggedIn = false;
+
+function pick(items) {
+    return items[Math.floor(Math.random() * items.length)];
+}
+
+function params(endpoint, name, extra) {
+    return Object.assign({ tags: { endpoint, name } }, extra || {});
+}
+
+function login() {
+    const user = pick(seed.users);
+    const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+        JSON.stringify({ email: user.email, password: seed.password }),
+        params('login', 'POST /api/v1/auth/login', { headers: { 'Content-Type': 'application/json' } }));
+    loggedIn = check(res, { 'login succeeded': (r) => r.status === 200 });
+    return res;
+}
+
+function filterRequest() {
+    const program = pick(PROGRAMS);
+    const request = { program, sort: pick(['newest', 'oldest', 'title']) };
+    // Most searches narrow down to a course, some add a resource type or a keyword
+    if (Math.random() < 0.7) {
+        request.course = pick(seed.courses[program]);
+    }
+    if (Math.random() < 0.3) {
+        request.resourceType = pick(seed.resourceTypes);
+    }
+    if (Math.random() < 0.2) {
+        request.keyword = pick(['lecture', 'exam', 'proof', 'matrix', 'market']);
+    }
+    return request;
+}
+
+function send(endpoint) {
+    switch (endpoint) {
+        case 'login':
+            return login();
+        case 'feed':
+            return http.get(`${BASE_URL}/api/v1/posts/?page=${Math.floor(Math.random() * 3)}&size=20`,
+                params(endpoint, 'GET /api/v1/posts/'));
+        case 'timeline':
+            return http.get(`${BASE_URL}/api/v1/posts/timeline?page=0&size=20`,
+                params(endpoint, 'GET /api/v1/posts/timeline'));
+        case 'post':
+            return http.get(`${BASE_URL}/api/v1/posts/${pick(seed.posts)}`,
+                params(endpoint, 'GET /api/v1/posts/{postId}'));
+        case 'filter':
+            return http.post(`${BASE_URL}/api/v1/posts/filter`, JSON.stringify(filterRequest()),
+                params(endpoint, 'POST /api/v1/posts/filter', { headers: { 'Content-Type': 'application/json' } }));
+        case 'like':
+            return http.put(`${BASE_URL}/api/v1/posts/${pick(seed.posts)}/like`, null,
+                params(endpoint, 'PUT /api/v1/posts/{postId}/like'));
+        case 'download':
+            return http.get(`${BASE_URL}/api/v1/posts/download-file/${pick(seed.posts)}`,
+                params(endpoint, 'GET /api/v1/posts/download-file/{postId}'));
+        case 'upload': {
+            const program = pick(PROGRAMS);
+            return http.post(`${BASE_URL}/api/v1/posts/upload`, {
+                file: http.file(upload, 'lecture-notes.pdf', 'application/pdf'),
+                title: 'Load test upload',
+                desc: 'Uploaded by the load test',
+                program,
+                course: pick(seed.courses[program]),
+                resourceType: pick(seed.resourceTypes),
+            }, params(endpoint, 'POST /api/v1/posts/upload'));
+        }
+        default:
+            throw new Error(`Unknown endpoint ${endpoint}`);
+    }
+}
+
+export default function () {
+    if (!loggedIn) {
+        login();
+        return;
+    }
+
+    let roll = Math.random() * TOTAL_WEIGHT;
+    let endpoint = ACTIVE[ACTIVE.length - 1];
+    for (const name of ACTIVE) {
+        roll -= ENDPOINTS[name].weight;
+        if (roll < 0) {
+            endpoint = name;
+            break;
+        }
+    }
+
+    const res = send(endpoint);
+    if (endpoint !== 'login') {
+        check(res, { 'status is 200': (r) => r.status === 200 });
+    }
+}
+
+function format(value, digits) {
+    return value === undefined ? '-' : value.toFixed(digits);
+}
+
+export function handleSummary(data) {
+    const rows = ACTIVE.map((name) => {
+        const duration = data.metrics[`http_req_duration{endpoint:${name}}`];
+        const requests = data.metrics[`http_reqs{endpoint:${name}}`];
+        const failed = data.metrics[`http_req_failed{endpoint:${name}}`];
+        return {
+            endpoint: name,
+            requests: requests ? requests.values.count : 0,
+            rate: requests ? requests.values.rate : 0,
+            p50: duration ? duration.values['p(50)'] : undefined,
+            p95: duration ? duration.values['p(95)'] : undefined,
+            p99: duration ? duration.values['p(99)'] : undefined,
+            failed: failed ? failed.values.rate : undefined,
+            p95Budget: ENDPOINTS[name].p95,
+        };
+    });
+
+    const header = ['endpoint', 'requests', 'req/s', 'p50 ms', 'p95 ms', 'p99 ms', 'failed %', 'p95 budget'];
+    const lines = rows.map((row) => [row.endpoint, String(row.requests), format(row.rate, 1),
+        format(row.p50, 1), format(row.p95, 1), format(row.p99, 1),
+        row.failed === undefined ? '-' : format(row.failed * 100, 2), String(row.p95Budget)]);
+    const all = data.metrics.http_req_duration.values;
+    lines.push(['total', String(data.metrics.http_reqs.values.count), format(data.metrics.http_reqs.values.rate, 1),
+        format(all['p(50)'], 1), format(all['p(95)'], 1), format(all['p(99)'], 1),
+        format(data.metrics.http_req_failed.values.rate * 100, 2), '']);
+
+    const widths = header.map((title, i) => Math.max(title.length, ...lines.map((line) => line[i].length)));
+    const render = (cells) => cells.map((cell, i) => (i === 0 ? cell.padEnd(widths[i]) : cell.padStart(widths[i])))
+        .join('  ');
+    const table = [render(header), widths.map((w) => '-'.repeat(w)).join('  '), ...lines.map(render)].join('\n');
+
+    return {
+        stdout: `\n${table}\n\n`,
+        [SUMMARY_FILE]: JSON.stringify({ endpoints: rows, metrics: data.metrics }, null, 2),
+    };
+}
@@ -0,0 +1,44 @@
+// Load test for GET /api/v1/posts/{postId}.
+//
+// Run it twice against the same seeded database, once with the second-level cache
+// enabled (default) and once with APP_CACHE_SECOND_LEVEL_ENABLED=false, and compare
+// the http_req_duration percentiles and the hibernate.second.level.cache.* metrics.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e POST_IDS=<id1,id2,...> k6/post-by-id.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const POST_IDS = (__ENV.POST_IDS || '').split(',').filter((id) => id.length > 0);
+
+export const options = {
+    scenarios: {
+        post_by_id: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 500),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 100,
+            maxVUs: 500,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    if (POST_IDS.length === 0) {
+        throw new Error('POST_IDS must contain at least one post ID');
+    }
+}
+
+export default function () {
+    const postId = POST_IDS[Math.floor(Math.random() * POST_IDS.length)];
+    const params = TOKEN ? { cookies: { token: TOKEN } } : {};
+    const res = http.get(`${BASE_URL}/api/v1/posts/${postId}`, params);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
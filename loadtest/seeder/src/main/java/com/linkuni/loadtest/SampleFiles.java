@@ -0,0 +1,122 @@
+package com.linkuni.loadtest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates valid PDF and PNG files of roughly a given size, so downloads, uploads and anything that
+ * parses the files see realistic content.
+ */
+final class SampleFiles {
+
+    private static final int LINES_PER_PAGE = 60;
+
+    private SampleFiles() {
+    }
+
+    /**
+     * A PDF with pages of lecture-like text, at least the given size
+     *
+     * @param targetBytes the minimum size of the file
+     * @param random the source of the text
+     * @return the PDF bytes
+     */
+    static byte[] pdf(int targetBytes, Random random) {
+        List<String> pageStreams = new ArrayList<>();
+        int total = 0;
+        do {
+            StringBuilder stream = new StringBuilder("BT /F1 9 Tf 40 800 Td 12 TL\n");
+            for (int line = 0; line < LINES_PER_PAGE; line++) {
+                stream.append('(').append(textLine(random)).append(") '\n");
+            }
+            stream.append("ET");
+            pageStreams.add(stream.toString());
+            total += stream.length();
+        } while (total < targetBytes);
+
+        // Objects: 1 catalog, 2 page tree, 3 font, then a page and its content stream per page
+        List<String> objects = new ArrayList<>();
+        StringBuilder kids = new StringBuilder();
+        for (int page = 0; page < pageStreams.size(); page++) {
+            kids.append(4 + 2 * page).append(" 0 R ");
+        }
+        objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+        objects.add("<< /Type /Pages /Kids [" + kids.toString().trim() + "] /Count " + pageStreams.size() + " >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>");
+        for (int page = 0; page < pageStreams.size(); page++) {
+            String content = pageStreams.get(page);
+            objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 595 842] "
+                    + "/Resources << /Font << /F1 3 0 R >> >> /Contents " + (5 + 2 * page) + " 0 R >>");
+            objects.add("<< /Length " + content.length() + " >>\nstream\n" + content + "\nendstream");
+        }
+
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i++) {
+            offsets.add(pdf.length());
+            pdf.append(i + 1).append(" 0 obj\n").append(objects.get(i)).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.size() + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\n")
+                .append("startxref\n").append(xref).append("\n%%EOF\n");
+        // The content is ASCII only, so character offsets are byte offsets
+        return pdf.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * A PNG of noisy pixels, which barely compresses, of about the given size
+     *
+     * @param targetBytes the approximate size of the file
+     * @param random the source of the pixels
+     * @return the PNG bytes
+     */
+    static byte[] png(int targetBytes, Random random) {
+        int side = Math.max(16, (int) Math.sqrt(targetBytes / 3.0));
+        BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(targetBytes);
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A line of plain ASCII text without PDF string delimiters
+     *
+     * @param random the source of the words
+     * @return the line
+     */
+    static String textLine(Random random) {
+        StringBuilder line = new StringBuilder();
+        while (line.length() < 90) {
+            line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return line.toString().trim();
+    }
+
+    private static final String[] WORDS = {
+            "algorithm", "complexity", "proof", "lemma", "theorem", "graph", "vertex", "edge", "matrix",
+            "vector", "integral", "derivative", "equilibrium", "market", "demand", "supply", "cell",
+            "protein", "enzyme", "energy", "force", "momentum", "stress", "strain", "circuit", "voltage",
+            "the", "of", "and", "a", "is", "in", "for", "with", "by", "we", "show", "that", "example",
+            "exercise", "lecture", "definition", "therefore", "consider", "assume", "result", "exam"
+    };
+}
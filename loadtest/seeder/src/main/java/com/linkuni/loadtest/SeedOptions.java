@@ -0,0 +1,103 @@
+package com.linkuni.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the seeder, given as --name=value. Defaults match the services in
+ * docker-compose.yml and loadtest/docker-compose.yml.
+ */
+record SeedOptions(
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        int users,
+        int posts,
+        double followsPerUser,
+        double likesPerPost,
+        double savesPerUser,
+        double extractRatio,
+        String s3Endpoint,
+        String s3Region,
+        String s3Bucket,
+        String s3AccessKey,
+        String s3SecretKey,
+        String userPassword,
+        int uploadSizeKb,
+        Path output,
+        boolean reset,
+        long seed) {
+
+    static final String USAGE = """
+            Usage: java -jar seeder.jar [--name=value ...]
+              --jdbc-url          default jdbc:postgresql://localhost:5432/linkuni-db
+              --db-user           default chhavikantmahobia
+              --db-password       default chhavikantmahobia
+              --users             number of users, default 10000
+              --posts             number of posts, default 50000
+              --follows-per-user  average followings per user, default 20
+              --likes-per-post    average likes per post, default 8
+              --saves-per-user    average saved posts per user, default 5
+              --extract-ratio     share of PDF posts with extracted text and a summary, default 0.6
+              --s3-endpoint       S3 stand-in for the sample files, default http://localhost:9000 (empty to skip)
+              --s3-region         default us-east-1
+              --s3-bucket         default linkuni-loadtest
+              --s3-access-key     default minio
+              --s3-secret-key     default minio123
+              --user-password     password of every seeded user, default loadtest-password
+              --upload-size-kb    size of the PDF the load test uploads, default 512
+              --output            directory for seed.json and upload.pdf, default loadtest/data
+              --reset             delete all existing users and posts first
+              --seed              random seed, default 42
+            """;
+
+    static SeedOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+
+        SeedOptions options = new SeedOptions(
+                take(values, "jdbc-url", "jdbc:postgresql://localhost:5432/linkuni-db"),
+                take(values, "db-user", "chhavikantmahobia"),
+                take(values, "db-password", "chhavikantmahobia"),
+                Integer.parseInt(take(values, "users", "10000")),
+                Integer.parseInt(take(values, "posts", "50000")),
+                Double.parseDouble(take(values, "follows-per-user", "20")),
+                Double.parseDouble(take(values, "likes-per-post", "8")),
+                Double.parseDouble(take(values, "saves-per-user", "5")),
+                Double.parseDouble(take(values, "extract-ratio", "0.6")),
+                take(values, "s3-endpoint", "http://localhost:9000"),
+                take(values, "s3-region", "us-east-1"),
+                take(values, "s3-bucket", "linkuni-loadtest"),
+                take(values, "s3-access-key", "minio"),
+                take(values, "s3-secret-key", "minio123"),
+                take(values, "user-password", "loadtest-password"),
+                Integer.parseInt(take(values, "upload-size-kb", "512")),
+                Path.of(take(values, "output", "loadtest/data")),
+                Boolean.parseBoolean(take(values, "reset", "false")),
+                Long.parseLong(take(values, "seed", "42")));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.users() < 2 || options.posts() < 1) {
+            throw new IllegalArgumentException("At least 2 users and 1 post are needed");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,509 @@
+package com.linkuni.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Fills the database with users, posts, follows, likes, saved posts and text extracts for load
+ * tests, uploads the files the posts point to, and writes the IDs and credentials the k6 scripts use.
+ * Popularity is skewed: a few users attract most followers and a few posts most likes, as in
+ * production. Derived data (counters, feed scores and timelines) is computed the way the backend
+ * maintains it, so the first requests do not see an empty feed.
+ *
+ * Run it after the backend has started once, so Flyway has created the schema.
+ */
+public class Seeder {
+    private static final Logger logger = LoggerFactory.getLogger(Seeder.class);
+
+    private static final Map<String, List<String>> COURSES = new LinkedHashMap<>();
+
+    static {
+        COURSES.put("Computer Science", courses("CS"));
+        COURSES.put("Software Engineering", courses("SE"));
+        COURSES.put("Mechanical Engineering", courses("ME"));
+        COURSES.put("Electrical Engineering", courses("EE"));
+        COURSES.put("Biology", courses("BIO"));
+        COURSES.put("Economics", courses("ECON"));
+        COURSES.put("Mathematics", courses("MATH"));
+        COURSES.put("Psychology", courses("PSY"));
+    }
+
+    private static final String[] PROGRAMS = COURSES.keySet().toArray(new String[0]);
+    private static final String[] RESOURCE_TYPES = {"Notes", "Past Paper", "Assignment", "Slides", "Lab Report"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Maya", "Liam", "Sofia", "Noah", "Zara", "Ethan",
+            "Priya", "Lucas", "Amara", "Oliver", "Hana", "Mateo", "Ines", "Kai", "Leila"};
+    private static final String[] LAST_NAMES = {"Patel", "Nguyen", "Smith", "Garcia", "Kim", "Okafor", "Muller",
+            "Rossi", "Silva", "Cohen", "Tanaka", "Ivanova", "Haddad", "Brown", "Singh", "Lopez"};
+
+    // Sample files the posts point to: 70% PDFs, the rest PNGs, in a spread of sizes
+    private static final int[] PDF_SIZES_KB = {40, 120, 250, 500, 1000, 2000, 4000};
+    private static final int[] PNG_SIZES_KB = {60, 250, 800};
+    private static final double PDF_SHARE = 0.7;
+
+    // Defaults of app.feed.* and app.timeline.*, used to precompute feed scores and timelines
+    private static final double FEED_GRAVITY = 1.5;
+    private static final double FEED_LIKE_WEIGHT = 1.0;
+    private static final double FEED_SAVE_WEIGHT = 2.0;
+    private static final int FEED_HORIZON_DAYS = 90;
+    private static final int TIMELINE_FAN_OUT_MAX_FOLLOWERS = 5000;
+    private static final int TIMELINE_MAX_ENTRIES = 500;
+
+    // How many IDs seed.json lists for the load test to pick from
+    private static final int SAMPLE_SIZE = 5000;
+
+    private final SeedOptions options;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private UUID[] userIds;
+    private String[] userPrograms;
+    private int[] followerCounts;
+    private int[] postCounts;
+    private UUID[] postIds;
+    private int[] postAuthors;
+    private boolean[] postIsPdf;
+
+    public Seeder(SeedOptions options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.print(SeedOptions.USAGE);
+            return;
+        }
+        SeedOptions options;
+        try {
+            options = SeedOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(SeedOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new Seeder(options).run();
+    }
+
+    public void run() throws SQLException, IOException {
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(
+                options.jdbcUrl(), options.dbUser(), options.dbPassword())) {
+            connection.setAutoCommit(false);
+            prepare(connection);
+
+            List<String> pdfKeys = new ArrayList<>();
+            List<String> pngKeys = new ArrayList<>();
+            uploadSampleFiles(pdfKeys, pngKeys);
+
+            generateUsersAndPosts();
+            List<int[]> follows = generateFollows();
+
+            seedUsers(connection);
+            seedPosts(connection, pdfKeys, pngKeys);
+            seedFollows(connection, follows);
+            seedLikes(connection);
+            seedSavedPosts(connection);
+            seedExtracts(connection);
+            deriveFeedScores(connection);
+            deriveTimelines(connection);
+
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+
+        writeOutput();
+        logger.info("Seeding finished in {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private void prepare(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (options.reset()) {
+                // Cascades to every table that references users or posts
+                statement.execute("TRUNCATE users, posts, post_scores, timeline_entries, post_reports, "
+                        + "s3_deletion_outbox CASCADE");
+                logger.info("Deleted existing data");
+                return;
+            }
+            try (ResultSet existing = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM users)")) {
+                existing.next();
+                if (existing.getBoolean(1)) {
+                    throw new IllegalStateException("The database already contains users; run with --reset to replace them");
+                }
+            }
+        }
+    }
+
+    private void uploadSampleFiles(List<String> pdfKeys, List<String> pngKeys) {
+        for (int i = 0; i < PDF_SIZES_KB.length; i++) {
+            pdfKeys.add("loadtest/sample-" + i + ".pdf");
+        }
+        for (int i = 0; i < PNG_SIZES_KB.length; i++) {
+            pngKeys.add("loadtest/sample-" + i + ".png");
+        }
+        if (options.s3Endpoint().isEmpty()) {
+            logger.warn("No S3 endpoint given, sample files are not uploaded and downloads will fail");
+            return;
+        }
+
+        try (S3Client s3 = S3Client.builder()
+                .region(Region.of(options.s3Region()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(options.s3AccessKey(), options.s3SecretKey())))
+                .endpointOverride(URI.create(options.s3Endpoint()))
+                .forcePathStyle(true)
+                .httpClient(UrlConnectionHttpClient.create())
+                .build()) {
+            try {
+                s3.headBucket(request -> request.bucket(options.s3Bucket()));
+            } catch (NoSuchBucketException e) {
+                s3.createBucket(request -> request.bucket(options.s3Bucket()));
+                logger.info("Created bucket {}", options.s3Bucket());
+            }
+            for (int i = 0; i < PDF_SIZES_KB.length; i++) {
+                put(s3, pdfKeys.get(i), "application/pdf", SampleFiles.pdf(PDF_SIZES_KB[i] * 1024, random));
+            }
+            for (int i = 0; i < PNG_SIZES_KB.length; i++) {
+                put(s3, pngKeys.get(i), "image/png", SampleFiles.png(PNG_SIZES_KB[i] * 1024, random));
+            }
+        }
+        logger.info("Uploaded {} sample files to bucket {}", pdfKeys.size() + pngKeys.size(), options.s3Bucket());
+    }
+
+    private void put(S3Client s3, String key, String contentType, byte[] content) {
+        s3.putObject(request -> request.bucket(options.s3Bucket()).key(key).contentType(contentType),
+                RequestBody.fromBytes(content));
+    }
+
+    private void generateUsersAndPosts() {
+        int users = options.users();
+        userIds = new UUID[users];
+        userPrograms = new String[users];
+        followerCounts = new int[users];
+        postCounts = new int[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = randomUuid();
+            userPrograms[i] = PROGRAMS[random.nextInt(PROGRAMS.length)];
+        }
+
+        int posts = options.posts();
+        postIds = new UUID[posts];
+        postAuthors = new int[posts];
+        postIsPdf = new boolean[posts];
+        for (int i = 0; i < posts; i++) {
+            postIds[i] = randomUuid();
+            postAuthors[i] = skewed(users);
+            postIsPdf[i] = random.nextDouble() < PDF_SHARE;
+            postCounts[postAuthors[i]]++;
+        }
+    }
+
+    private List<int[]> generateFollows() {
+        int users = options.users();
+        List<int[]> follows = new ArrayList<>();
+        for (int follower = 0; follower < users; follower++) {
+            Set<Integer> followed = new HashSet<>();
+            int count = Math.min(exponential(options.followsPerUser()), users - 1);
+            while (followed.size() < count) {
+                int author = skewed(users);
+                if (author != follower && followed.add(author)) {
+                    follows.add(new int[] {follower, author});
+                    followerCounts[author]++;
+                }
+            }
+        }
+        return follows;
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        // One hash for everyone: BCrypt is deliberately slow, and the load test logs in with it
+        String passwordHash = new BCryptPasswordEncoder().encode(options.userPassword());
+        try (CopyWriter users = new CopyWriter(connection, "users",
+                "user_id, username, firstname, lastname, email, password, profile_picture, "
+                        + "share_space_profile_username, share_space_profile_type, post_count, follower_count, "
+                        + "is_admin, is_onboarded, program, year_of_graduation, created_at, updated_at")) {
+            for (int i = 0; i < userIds.length; i++) {
+                String username = "loadtest_" + i;
+                Timestamp createdAt = Timestamp.valueOf(now.minusDays(200 + random.nextInt(600)));
+                users.row(userIds[i], username,
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                        LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        email(i), passwordHash,
+                        "https://cdn.example.com/avatars/" + username + ".png",
+                        random.nextBoolean() ? username : null,
+                        random.nextBoolean() ? "linkedin" : null,
+                        postCounts[i], followerCounts[i], false, true, userPrograms[i],
+                        String.valueOf(2025 + random.nextInt(5)), createdAt, createdAt);
+            }
+            logger.info("Seeded {} users", users.rows());
+        }
+    }
+
+    private void seedPosts(Connection connection, List<String> pdfKeys, List<String> pngKeys) throws SQLException {
+        String baseUrl = options.s3Endpoint() + "/" + options.s3Bucket() + "/";
+        try (CopyWriter posts = new CopyWriter(connection, "posts",
+                "post_id, title, description, file_url, file_key, file_type, file_name, program, course, "
+                        + "resource_type, is_blacklisted, report_count, user_id, created_at, updated_at")) {
+            for (int i = 0; i < postIds.length; i++) {
+                int author = postAuthors[i];
+                String program = userPrograms[author];
+                List<String> courses = COURSES.get(program);
+                String course = courses.get(skewed(courses.size()));
+                String resourceType = RESOURCE_TYPES[random.nextInt(RESOURCE_TYPES.length)];
+                String fileKey = postIsPdf[i]
+                        ? pdfKeys.get(random.nextInt(pdfKeys.size()))
+                        : pngKeys.get(random.nextInt(pngKeys.size()));
+                // Newer posts are more frequent, as in a growing site
+                Timestamp createdAt = Timestamp.valueOf(now.minusMinutes((long) (Math.pow(random.nextDouble(), 2)
+                        * 180 * 24 * 60)));
+
+                posts.row(postIds[i], course + " " + resourceType + " " + (1 + random.nextInt(12)),
+                        SampleFiles.textLine(random), baseUrl + fileKey, fileKey,
+                        postIsPdf[i] ? "application/pdf" : "image/png",
+                        fileKey.substring(fileKey.lastIndexOf('/') + 1),
+                        program, course, resourceType, false, 0, userIds[author], createdAt, createdAt);
+            }
+            logger.info("Seeded {} posts", posts.rows());
+        }
+        // A connection runs one COPY at a time
+        try (CopyWriter userPosts = new CopyWriter(connection, "user_posts", "user_id, post_id")) {
+            for (int i = 0; i < postIds.length; i++) {
+                userPosts.row(userIds[postAuthors[i]], postIds[i]);
+            }
+        }
+    }
+
+    private void seedFollows(Connection connection, List<int[]> follows) throws SQLException {
+        try (CopyWriter followings = new CopyWriter(connection, "user_followings", "user_id, following_id")) {
+            for (int[] follow : follows) {
+                followings.row(userIds[follow[0]], userIds[follow[1]]);
+            }
+            logger.info("Seeded {} follows", followings.rows());
+        }
+        try (CopyWriter followers = new CopyWriter(connection, "user_followers", "user_id, follower_id")) {
+            for (int[] follow : follows) {
+                followers.row(userIds[follow[1]], userIds[follow[0]]);
+            }
+        }
+    }
+
+    private void seedLikes(Connection connection) throws SQLException {
+        int users = userIds.length;
+        try (CopyWriter likes = new CopyWriter(connection, "post_likes", "post_id, user_id")) {
+            for (UUID postId : postIds) {
+                Set<Integer> likers = new HashSet<>();
+                int count = Math.min(exponential(options.likesPerPost()), users);
+                while (likers.size() < count) {
+                    int liker = random.nextInt(users);
+                    if (likers.add(liker)) {
+                        likes.row(postId, userIds[liker]);
+                    }
+                }
+            }
+            logger.info("Seeded {} likes", likes.rows());
+        }
+    }
+
+    private void seedSavedPosts(Connection connection) throws SQLException {
+        int posts = postIds.length;
+        try (CopyWriter saved = new CopyWriter(connection, "user_saved_posts", "user_id, saved_post_id")) {
+            for (UUID userId : userIds) {
+                Set<Integer> savedPosts = new HashSet<>();
+                int count = Math.min(exponential(options.savesPerUser()), posts);
+                while (savedPosts.size() < count) {
+                    int post = skewed(posts);
+                    if (savedPosts.add(post)) {
+                        saved.row(userId, postIds[post]);
+                    }
+                }
+            }
+            logger.info("Seeded {} saved posts", saved.rows());
+        }
+    }
+
+    private void seedExtracts(Connection connection) throws SQLException {
+        // A handful of page texts, reused so that generating them does not dominate the run
+        String[] pageTexts = new String[32];
+        for (int i = 0; i < pageTexts.length; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int line = 0; line < 20; line++) {
+                text.append(SampleFiles.textLine(random)).append("\\n");
+            }
+            pageTexts[i] = text.toString();
+        }
+
+        List<Integer> extracted = new ArrayList<>();
+        for (int i = 0; i < postIds.length; i++) {
+            if (postIsPdf[i] && random.nextDouble() < options.extractRatio()) {
+                extracted.add(i);
+            }
+        }
+
+        Timestamp createdAt = Timestamp.valueOf(now);
+        try (CopyWriter extracts = new CopyWriter(connection, "text_extracts", "id, post_id, extracted_text, created_at")) {
+            for (int post : extracted) {
+                // Stored in the format TextExtract.setTextFromMap writes
+                int pages = 1 + random.nextInt(12);
+                String text = IntStream.rangeClosed(1, pages)
+                        .mapToObj(page -> "\"" + page + "\":\"" + pageTexts[random.nextInt(pageTexts.length)] + "\"")
+                        .collect(Collectors.joining(",", "{", "}"));
+                extracts.row(randomUuid(), postIds[post], text, createdAt);
+            }
+            logger.info("Seeded {} text extracts", extracts.rows());
+        }
+        try (CopyWriter summaries = new CopyWriter(connection, "summaries", "id, post_id, summary_text, created_at")) {
+            for (int post : extracted) {
+                summaries.row(randomUuid(), postIds[post],
+                        SampleFiles.textLine(random) + ". " + SampleFiles.textLine(random), createdAt);
+            }
+        }
+    }
+
+    // Same formula as PostScoreRepository.refreshScores
+    private void deriveFeedScores(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO post_scores (post_id, program, author_id, like_count, save_count, download_count, "
+                        + "score, posted_at, refreshed_at) "
+                        + "SELECT p.post_id, p.program, p.user_id, COALESCE(l.cnt, 0), COALESCE(s.cnt, 0), 0, "
+                        + "(1 + ? * COALESCE(l.cnt, 0) + ? * COALESCE(s.cnt, 0)) "
+                        + "/ POWER(EXTRACT(EPOCH FROM (CAST(? AS timestamp) - p.created_at)) / 3600.0 + 2, ?), "
+                        + "p.created_at, ? "
+                        + "FROM posts p "
+                        + "LEFT JOIN (SELECT post_id, COUNT(*) AS cnt FROM post_likes GROUP BY post_id) l "
+                        + "ON l.post_id = p.post_id "
+                        + "LEFT JOIN (SELECT saved_post_id, COUNT(*) AS cnt FROM user_saved_posts GROUP BY saved_post_id) s "
+                        + "ON s.saved_post_id = p.post_id "
+                        + "WHERE p.is_blacklisted = false AND p.created_at >= ?")) {
+            Timestamp timestamp = Timestamp.valueOf(now);
+            statement.setDouble(1, FEED_LIKE_WEIGHT);
+            statement.setDouble(2, FEED_SAVE_WEIGHT);
+            statement.setTimestamp(3, timestamp);
+            statement.setDouble(4, FEED_GRAVITY);
+            statement.setTimestamp(5, timestamp);
+            statement.setTimestamp(6, Timestamp.valueOf(now.minusDays(FEED_HORIZON_DAYS)));
+            logger.info("Scored {} posts for the feed", statement.executeUpdate());
+        }
+    }
+
+    // What TimelineService's fan-out on write and trimming would have produced
+    private void deriveTimelines(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO timeline_entries (user_id, post_id, author_id, posted_at) "
+                        + "SELECT user_id, post_id, author_id, posted_at FROM ("
+                        + "SELECT f.user_id, p.post_id, p.user_id AS author_id, p.created_at AS posted_at, "
+                        + "ROW_NUMBER() OVER (PARTITION BY f.user_id ORDER BY p.created_at DESC) AS position "
+                        + "FROM user_followings f "
+                        + "JOIN users u ON u.user_id = f.following_id AND u.follower_count <= ? "
+                        + "JOIN posts p ON p.user_id = f.following_id AND p.is_blacklisted = false) entries "
+                        + "WHERE position <= ?")) {
+            statement.setInt(1, TIMELINE_FAN_OUT_MAX_FOLLOWERS);
+            statement.setInt(2, TIMELINE_MAX_ENTRIES);
+            logger.info("Seeded {} timeline entries", statement.executeUpdate());
+        }
+    }
+
+    private void writeOutput() throws IOException {
+        Files.createDirectories(options.output());
+
+        List<Integer> userSample = sample(userIds.length);
+        String users = userSample.stream()
+                .map(i -> "{\"id\":\"" + userIds[i] + "\",\"email\":\"" + email(i) + "\"}")
+                .collect(Collectors.joining(",\n    ", "[\n    ", "\n  ]"));
+        String posts = sample(postIds.length).stream()
+                .map(i -> "\"" + postIds[i] + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+        String courses = COURSES.entrySet().stream()
+                .map(entry -> "\"" + entry.getKey() + "\":" + entry.getValue().stream()
+                        .map(course -> "\"" + course + "\"")
+                        .collect(Collectors.joining(",", "[", "]")))
+                .collect(Collectors.joining(",\n    ", "{\n    ", "\n  }"));
+        String resourceTypes = Arrays.stream(RESOURCE_TYPES)
+                .map(type -> "\"" + type + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        String seed = "{\n"
+                + "  \"password\": \"" + options.userPassword() + "\",\n"
+                + "  \"courses\": " + courses + ",\n"
+                + "  \"resourceTypes\": " + resourceTypes + ",\n"
+                + "  \"posts\": " + posts + ",\n"
+                + "  \"users\": " + users + "\n"
+                + "}\n";
+        Files.writeString(options.output().resolve("seed.json"), seed);
+        Files.write(options.output().resolve("upload.pdf"), SampleFiles.pdf(options.uploadSizeKb() * 1024, random));
+        logger.info("Wrote seed.json and upload.pdf to {}", options.output().toAbsolutePath());
+    }
+
+    private List<Integer> sample(int size) {
+        List<Integer> indexes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indexes.add(i);
+        }
+        Collections.shuffle(indexes, random);
+        return indexes.subList(0, Math.min(SAMPLE_SIZE, size));
+    }
+
+    private static String email(int user) {
+        return "loadtest_" + user + "@example.com";
+    }
+
+    private UUID randomUuid() {
+        // Version 4 layout from the seeded generator, so reruns with the same seed produce the same IDs
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    // Index in [0, n), heavily skewed towards 0, for popularity-like distributions
+    private int skewed(int n) {
+        return (int) (n * Math.pow(random.nextDouble(), 3));
+    }
+
+    // Exponentially distributed count with the given mean
+    private int exponential(double mean) {
+        return (int) (-mean * Math.log(1 - random.nextDouble()));
+    }
+
+    private static List<String> courses(String prefix) {
+        List<String> courses = new ArrayList<>();
+        for (int level = 1; level <= 4; level++) {
+            for (int number = 1; number <= 4; number++) {
+                courses.add(prefix + level + "0" + number);
+            }
+        }
+        return courses;
+    }
+}
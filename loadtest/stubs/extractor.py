@@ -0,0 +1,71 @@
+"""Stand-in for the Flask text extractor used in load tests.
+
+Accepts the same multipart POST /api/v1/extract-text as the real service and answers with a
+fixed per-page text and a summary after a randomized delay, so uploads exercise the asynchronous
+extraction path without the real service's CPU cost.
+
+Environment:
+  EXTRACT_DELAY_MS  mean response delay in milliseconds (default 800)
+  EXTRACT_PAGES     number of pages in each response (default 5)
+  PORT              listening port (default 5000)
+"""
+import json
+import os
+import random
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+DELAY_MS = int(os.environ.get("EXTRACT_DELAY_MS", "800"))
+PAGES = int(os.environ.get("EXTRACT_PAGES", "5"))
+PORT = int(os.environ.get("PORT", "5000"))
+
+PAGE_TEXT = ("Lecture notes. Definition, theorem and proof, followed by worked examples "
+             "and exercises for the exam.\n") * 20
+RESPONSE = json.dumps({
+    "text": {str(page): PAGE_TEXT for page in range(1, PAGES + 1)},
+    "summary": "Lecture notes with definitions, worked examples and exam exercises.",
+}).encode()
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def log_message(self, format, *args):
+        pass
+
+    def do_GET(self):
+        if self.path == "/health":
+            self.respond(200, b'{"status":"ok"}')
+        else:
+            self.respond(404, b'{"error":"not found"}')
+
+    def do_POST(self):
+        self.drain_body()
+        if self.path != "/api/v1/extract-text":
+            self.respond(404, b'{"error":"not found"}')
+            return
+        time.sleep(DELAY_MS / 1000 * random.uniform(0.5, 1.5))
+        self.respond(200, RESPONSE)
+
+    def drain_body(self):
+        if self.headers.get("Transfer-Encoding", "").lower() == "chunked":
+            while True:
+                size = int(self.rfile.readline().split(b";")[0], 16)
+                self.rfile.read(size + 2)
+                if size == 0:
+                    break
+        else:
+            self.rfile.read(int(self.headers.get("Content-Length") or 0))
+
+    def respond(self, status, body):
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+
+if __name__ == "__main__":
+    ThreadingHTTPServer.request_queue_size = 1024
+    print(f"Extractor stub listening on :{PORT}, delay {DELAY_MS} ms, {PAGES} pages", flush=True)
+    ThreadingHTTPServer(("", PORT), Handler).serve_forever()
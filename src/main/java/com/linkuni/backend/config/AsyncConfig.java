@@ -1,9 +1,23 @@
 package com.linkuni.backend.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
-} 
\ No newline at end of file
+
+    /**
+     * Carries the submitting thread's trace context and MDC into @Async tasks, so that
+     * extraction jobs and emails are recorded as part of the request that started them.
+     * Applied by Boot to the application task executor. The handler used for the connection
+     * metrics is left behind, so that background jobs are not counted against the endpoint.
+     */
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator(
+                HandlerConnectionMetricsTrackerFactory.backgroundContextSnapshotFactory());
+    }
+}
@@ -0,0 +1,138 @@
+package com.linkuni.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache configuration.
+ * Entities and collections are cached locally in Caffeine through JCache; each region is
+ * created up front with a bounded size and TTL so that nothing grows without limit.
+ */
+@Configuration
+public class CacheConfig {
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+    
+    // Regions declared with @Cache on the entities
+    public static final List<String> ENTITY_REGIONS = List.of(
+            "posts", "posts.likes", "summaries",
+            "users", "users.followers", "users.followings", "users.posts",
+            "users.blacklistedPosts", "users.savedPosts");
+    
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    @Value("${app.cache.second-level.enabled:true}")
+    private boolean secondLevelCacheEnabled;
+    
+    @Value("${app.cache.second-level.max-entries:10000}")
+    private long maxEntries;
+    
+    @Value("${app.cache.second-level.ttl-minutes:30}")
+    private long ttlMinutes;
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            // Statistics feed the cache metrics; per-session metric logging is not wanted
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            
+            if (!secondLevelCacheEnabled) {
+                logger.info("Hibernate second-level cache disabled");
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            logger.info("Hibernate second-level cache enabled: max {} entries per region, TTL {} minutes",
+                    maxEntries, ttlMinutes);
+        };
+    }
+    
+    private CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        
+        for (String region : ENTITY_REGIONS) {
+            createIfMissing(cacheManager, region, boundedConfiguration(maxEntries, ttlMinutes));
+        }
+        createIfMissing(cacheManager, QUERY_RESULTS_REGION, boundedConfiguration(maxEntries, ttlMinutes));
+        // Update timestamps must outlive every cached query result, so they never expire
+        createIfMissing(cacheManager, UPDATE_TIMESTAMPS_REGION, boundedConfiguration(maxEntries, 0));
+        
+        return cacheManager;
+    }
+    
+    private static void createIfMissing(CacheManager cacheManager, String region,
+                                        CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+    
+    private static CaffeineConfiguration<Object, Object> boundedConfiguration(long maxEntries, long ttlMinutes) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttlMinutes > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+        }
+        return configuration;
+    }
+    
+    /**
+     * Publishes a hit ratio gauge per second-level cache region, next to the raw
+     * hit/miss counters exported by Hibernate's own Micrometer binding.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheHitRatioMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            
+            for (String region : ENTITY_REGIONS) {
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .description("Hit ratio of a Hibernate second-level cache region")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+    
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics;
+        try {
+            regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // Region does not exist when the second-level cache is disabled
+            return Double.NaN;
+        }
+        
+        long hits = regionStatistics.getHitCount();
+        long total = hits + regionStatistics.getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,42 @@
+package com.linkuni.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Gzip compression of API responses by the embedded server. Post listings and text extracts are
+ * repetitive JSON that typically shrinks to a quarter. Files served by the download endpoint keep
+ * their own content types and are only compressed if they are text.
+ * <p>
+ * Tomcat only implements gzip; Brotli, where wanted, belongs in the proxy or CDN in front.
+ */
+@Configuration
+public class CompressionConfig {
+
+    @Value("${app.compression.enabled:true}")
+    private boolean enabled;
+
+    // Below this, the gzip header and CPU cost more than they save; streamed listings have no
+    // known length and are always compressed
+    @Value("${app.compression.min-response-size:2KB}")
+    private DataSize minResponseSize;
+
+    @Value("${app.compression.mime-types:application/json,application/problem+json,text/plain}")
+    private String[] mimeTypes;
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer() {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(enabled);
+            compression.setMinResponseSize(minResponseSize);
+            compression.setMimeTypes(mimeTypes);
+            factory.setCompression(compression);
+        };
+    }
+}
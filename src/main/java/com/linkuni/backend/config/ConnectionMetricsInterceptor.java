@@ -0,0 +1,36 @@
+package com.linkuni.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records the controller method serving the request for the connection metrics.
+ * Registered ahead of the open-in-view interceptor so that the connection it releases at the end
+ * of the request is still attributed to the handler.
+ */
+class ConnectionMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            HandlerConnectionMetricsTrackerFactory.setCurrentHandler(
+                    handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        HandlerConnectionMetricsTrackerFactory.clearCurrentHandler();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The request thread goes back to the container while the async result is produced
+        HandlerConnectionMetricsTrackerFactory.clearCurrentHandler();
+    }
+}
@@ -0,0 +1,65 @@
+package com.linkuni.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Publishes connection acquisition wait, hold time and timeouts per controller method for every
+ * Hikari pool, so that endpoints which keep connections across slow work show up under load.
+ * Pool size, timeouts and the leak detection threshold are set with the standard
+ * spring.datasource.hikari.* properties.
+ */
+@Configuration
+public class ConnectionPoolMetricsConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static HandlerConnectionMetricsTrackerFactory handlerConnectionMetricsTrackerFactory(
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new HandlerConnectionMetricsTrackerFactory(meterRegistryProvider);
+    }
+
+    // Installed before Boot binds its own tracker, which it skips for pools that already have one
+    @Bean
+    public static BeanPostProcessor hikariMetricsTrackerPostProcessor(
+            ObjectProvider<HandlerConnectionMetricsTrackerFactory> trackerFactoryProvider) {
+        return new HikariMetricsTrackerPostProcessor(trackerFactoryProvider);
+    }
+
+    /**
+     * Runs ahead of the post-processors that wrap DataSources, while the pools still have their
+     * Hikari type
+     */
+    private static final class HikariMetricsTrackerPostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<HandlerConnectionMetricsTrackerFactory> trackerFactoryProvider;
+
+        private HikariMetricsTrackerPostProcessor(
+                ObjectProvider<HandlerConnectionMetricsTrackerFactory> trackerFactoryProvider) {
+            this.trackerFactoryProvider = trackerFactoryProvider;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+                dataSource.setMetricsTrackerFactory(trackerFactoryProvider.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConnectionMetricsInterceptor()).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.linkuni.backend.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway owns the schema. Databases created earlier by ddl-auto=update have tables but no
+ * history table; they are baselined at version 0 so that the idempotent V1 and later
+ * migrations still run against them.
+ */
+@Configuration
+public class FlywayConfig {
+    
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchemaCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+}
@@ -0,0 +1,139 @@
+package com.linkuni.backend.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hikari metrics tracker that attributes connection use to the controller method being served.
+ * Hikari reports the wait for a connection on the borrowing thread and the time it was held on
+ * the returning thread, which for a web request is the request thread, so the handler recorded
+ * by {@link ConnectionMetricsInterceptor} identifies the endpoint. Connections used outside a
+ * handler, such as by the security filters or scheduled jobs, are tagged "none". The handler is
+ * registered with the context-propagation library, so work that a handler continues on another
+ * thread under a context snapshot is attributed to it as well. Hikari's own pool metrics are
+ * still published through the standard Micrometer tracker.
+ */
+public class HandlerConnectionMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    static final String NO_HANDLER = "none";
+
+    // Key of the handler in context snapshots
+    static final String CONTEXT_KEY = "linkuni.connection-metrics.handler";
+
+    private static final ThreadLocal<String> CURRENT_HANDLER = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+                CONTEXT_KEY, CURRENT_HANDLER::get, CURRENT_HANDLER::set, CURRENT_HANDLER::remove);
+    }
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public HandlerConnectionMetricsTrackerFactory(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    /**
+     * Creates a snapshot factory for work that a handler starts in the background, such as
+     * extraction and thumbnail jobs. Snapshots carry the trace context and MDC but not the
+     * handler, so that the job's connections are not counted against the endpoint.
+     *
+     * @return the snapshot factory
+     */
+    public static ContextSnapshotFactory backgroundContextSnapshotFactory() {
+        return ContextSnapshotFactory.builder()
+                .captureKeyPredicate(key -> !CONTEXT_KEY.equals(key))
+                .build();
+    }
+
+    /**
+     * Attributes connections used by the current thread to the given handler
+     *
+     * @param handler the handler name, e.g. PostController.uploadPost
+     */
+    static void setCurrentHandler(String handler) {
+        CURRENT_HANDLER.set(handler);
+    }
+
+    /**
+     * Stops attributing connections used by the current thread to a handler
+     */
+    static void clearCurrentHandler() {
+        CURRENT_HANDLER.remove();
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        // Resolved when the pool starts, after the registry is fully configured
+        MeterRegistry meterRegistry = meterRegistryProvider.getObject();
+        IMetricsTracker poolTracker = new MicrometerMetricsTrackerFactory(meterRegistry).create(poolName, poolStats);
+        return new HandlerMetricsTracker(poolName, meterRegistry, poolTracker);
+    }
+
+    private static final class HandlerMetricsTracker implements IMetricsTracker {
+        private final String poolName;
+        private final MeterRegistry meterRegistry;
+        private final IMetricsTracker poolTracker;
+
+        private HandlerMetricsTracker(String poolName, MeterRegistry meterRegistry, IMetricsTracker poolTracker) {
+            this.poolName = poolName;
+            this.meterRegistry = meterRegistry;
+            this.poolTracker = poolTracker;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            poolTracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            poolTracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            Timer.builder("db.connection.acquire")
+                    .description("Time a handler waited to obtain a pooled connection")
+                    .tags("pool", poolName, "handler", currentHandler())
+                    .register(meterRegistry)
+                    .record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            poolTracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            Timer.builder("db.connection.hold")
+                    .description("Time a handler held a pooled connection before returning it")
+                    .tags("pool", poolName, "handler", currentHandler())
+                    .register(meterRegistry)
+                    .record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            poolTracker.recordConnectionTimeout();
+            Counter.builder("db.connection.timeout")
+                    .description("Connection requests by a handler that timed out waiting for the pool")
+                    .tags("pool", poolName, "handler", currentHandler())
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        @Override
+        public void close() {
+            poolTracker.close();
+        }
+
+        private static String currentHandler() {
+            String handler = CURRENT_HANDLER.get();
+            return handler != null ? handler : NO_HANDLER;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.linkuni.backend.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson settings on top of Spring Boot's defaults. Module beans are registered with the
+ * application's ObjectMapper by Boot.
+ */
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter and constructor calls with generated lambdas, which matters for
+    // responses with hundreds of posts; can be switched off to rule it out when debugging
+    @Bean
+    @ConditionalOnProperty(name = "app.json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,30 @@
+package com.linkuni.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the sampled request log. The log output itself (text or JSON, async queue size) is
+ * configured in logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Value("${app.logging.request-sample-rate:0.01}")
+    private double requestSampleRate;
+
+    @Value("${app.logging.slow-request-ms:1000}")
+    private long slowRequestMs;
+
+    @Bean
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter() {
+        FilterRegistrationBean<RequestLogFilter> registration =
+                new FilterRegistrationBean<>(new RequestLogFilter(requestSampleRate, slowRequestMs));
+        // After the tracing filter, so the trace ID is in the MDC
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.linkuni.backend.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Publishes latency percentiles and histogram buckets for the timers on the request path:
+ * controller endpoints, repository calls, S3, the text extractor, email delivery and connection
+ * acquisition. Percentiles are computed per instance; the histogram buckets let Prometheus
+ * aggregate them across instances and evaluate SLOs with histogram_quantile().
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Set<String> LATENCY_TIMERS = Set.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            "s3.requests",
+            "extractor.requests",
+            "email.send",
+            "db.connection.acquire");
+
+    @Bean
+    public MeterFilter latencyDistributionMeterFilter(
+            @Value("${app.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!LATENCY_TIMERS.contains(id.getName())) {
+                    return config;
+                }
+                // Settings made on the meter or through management.metrics.distribution.* win
+                return config.merge(DistributionStatisticConfig.builder()
+                        .percentiles(percentiles)
+                        .percentilesHistogram(true)
+                        .build());
+            }
+        };
+    }
+}
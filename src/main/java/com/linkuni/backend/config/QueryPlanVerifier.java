@@ -0,0 +1,128 @@
+package com.linkuni.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Startup check that the hot queries are served by indexes. Each query is explained with
+ * sequential scans discouraged, so the planner only falls back to one when no usable index
+ * exists, independent of how much data is seeded. Startup fails if any plan scans a table
+ * sequentially. Enabled with app.db.verify-query-plans=true, e.g. in CI or load-test runs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.db.verify-query-plans", havingValue = "true")
+public class QueryPlanVerifier implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private static final UUID SAMPLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private static final String SAMPLE_PROGRAM = "sample";
+
+    private record HotQuery(String name, String sql, Object... params) {
+    }
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("posts by author",
+                    "SELECT * FROM posts WHERE user_id = ?", SAMPLE_ID),
+            new HotQuery("visible posts by author",
+                    "SELECT * FROM posts WHERE user_id = ? AND is_blacklisted = false ORDER BY created_at DESC", SAMPLE_ID),
+            new HotQuery("newest visible posts",
+                    "SELECT * FROM posts WHERE is_blacklisted = false ORDER BY created_at DESC LIMIT 20"),
+            new HotQuery("filter by program and course",
+                    "SELECT * FROM posts WHERE is_blacklisted = false AND lower(program) = lower(?) "
+                    + "AND lower(course) = lower(?) ORDER BY created_at DESC", SAMPLE_PROGRAM, SAMPLE_PROGRAM),
+            new HotQuery("filter by program and resource type",
+                    "SELECT * FROM posts WHERE is_blacklisted = false AND lower(program) = lower(?) "
+                    + "AND lower(resource_type) = lower(?) ORDER BY created_at DESC", SAMPLE_PROGRAM, SAMPLE_PROGRAM),
+            new HotQuery("summary by post",
+                    "SELECT * FROM summaries WHERE post_id = ?", SAMPLE_ID),
+            new HotQuery("text extract by post",
+                    "SELECT * FROM text_extracts WHERE post_id = ?", SAMPLE_ID),
+            new HotQuery("likes of post",
+                    "SELECT user_id FROM post_likes WHERE post_id = ?", SAMPLE_ID),
+            new HotQuery("followers of user",
+                    "SELECT follower_id FROM user_followers WHERE user_id = ?", SAMPLE_ID),
+            new HotQuery("followings of user",
+                    "SELECT following_id FROM user_followings WHERE user_id = ?", SAMPLE_ID),
+            new HotQuery("saved posts of user",
+                    "SELECT saved_post_id FROM user_saved_posts WHERE user_id = ?", SAMPLE_ID),
+            new HotQuery("feed by program",
+                    "SELECT post_id FROM post_scores WHERE program = ? ORDER BY score DESC LIMIT 20", SAMPLE_PROGRAM),
+            new HotQuery("home timeline",
+                    "SELECT post_id FROM timeline_entries WHERE user_id = ? ORDER BY posted_at DESC LIMIT 20", SAMPLE_ID),
+            new HotQuery("reports by reporter",
+                    "SELECT post_id FROM post_reports WHERE reporter_id = ?", SAMPLE_ID)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public QueryPlanVerifier(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> failures = transactionTemplate.execute(status -> {
+            // SET LOCAL only lasts until the end of this transaction, which is rolled back
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            status.setRollbackOnly();
+
+            List<String> found = new ArrayList<>();
+            for (HotQuery query : HOT_QUERIES) {
+                List<String> scannedTables = sequentiallyScannedTables(query);
+                if (!scannedTables.isEmpty()) {
+                    found.add(query.name() + " -> seq scan on " + scannedTables);
+                }
+            }
+            return found;
+        });
+
+        if (failures != null && !failures.isEmpty()) {
+            failures.forEach(failure -> logger.error("Query plan check failed: {}", failure));
+            throw new IllegalStateException("Hot queries are not served by indexes: " + failures);
+        }
+
+        logger.info("Query plan check passed for {} hot queries", HOT_QUERIES.size());
+    }
+
+    private List<String> sequentiallyScannedTables(HotQuery query) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql(), String.class, query.params());
+
+        List<String> tables = new ArrayList<>();
+        try {
+            collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), tables);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not parse query plan for: " + query.name(), e);
+        }
+        return tables;
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> tables) {
+        if (node == null) {
+            return;
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, tables);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.linkuni.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Keeps a client's reads on the primary for a short window after it writes, so that it sees its
+ * own changes even while the replicas are catching up. The window is carried in a cookie rather
+ * than in server memory, so it holds whichever instance serves the next request. Runs ahead of
+ * the security filters, which already read the authenticated user.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String COOKIE_NAME = "primary_reads_until";
+
+    private final long windowMillis;
+    private final boolean secureCookie;
+
+    public ReadYourWritesFilter(long windowMillis, boolean secureCookie) {
+        this.windowMillis = windowMillis;
+        this.secureCookie = secureCookie;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isWrite(request)) {
+            ReplicaRoutingDataSource.pinToPrimary();
+
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(System.currentTimeMillis() + windowMillis));
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setSecure(secureCookie);
+            response.addCookie(cookie);
+        } else if (withinWriteWindow(request)) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static boolean withinWriteWindow(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.linkuni.backend.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Stops read-only transactions from putting entities into the second-level cache. Those
+ * transactions may read from a lagging replica, and a stale entry would otherwise be picked up
+ * by the next write and saved back to the primary. Cached entries are still read; they are
+ * only populated by transactions on the primary.
+ */
+class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    private static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private record CacheModeTransactionData(Object transactionData, EntityManager entityManager,
+                                            Object previousStoreMode) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+
+        // A session property rather than the session's cache mode, which find() recomputes from it
+        Object previousStoreMode = entityManager.getProperties().get(CACHE_STORE_MODE);
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return new CacheModeTransactionData(transactionData, entityManager, previousStoreMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof CacheModeTransactionData data) {
+            // Entity managers outlive the transaction when opened in view
+            data.entityManager().setProperty(CACHE_STORE_MODE,
+                    data.previousStoreMode() != null ? data.previousStoreMode() : CacheStoreMode.USE);
+            super.cleanupTransaction(data.transactionData());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+}
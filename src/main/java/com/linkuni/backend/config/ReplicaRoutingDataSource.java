@@ -0,0 +1,137 @@
+package com.linkuni.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes each physical connection by the transaction it is obtained for. Read-only transactions
+ * get a connection from the replicas in round-robin order, skipping replicas that are unreachable
+ * or lag behind the primary by more than the configured maximum; everything else, read-only work
+ * with no replica available, and requests that must read their own writes use the primary. Used
+ * behind a lazy connection proxy, so the transaction is known by the time a connection is fetched.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Milliseconds since the last replayed transaction, or 0 when the replica has replayed everything
+    // it received (an idle primary would otherwise look like growing lag). A server that is not
+    // in recovery, such as a stand-in used for local testing, reports 0.
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available = true;
+        private volatile long lagMillis;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(dataSource -> new Replica(dataSource.getPoolName(), dataSource)).toList();
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * Routes read-only work on the current thread to the primary until {@link #clearPin()} is called
+     */
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Lets read-only work on the current thread use the replicas again
+     */
+    public static void clearPin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !Boolean.TRUE.equals(PRIMARY_PINNED.get())) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.available = false;
+                    logger.warn("Replica {} unavailable, routing reads elsewhere: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Connections for other credentials cannot come from the replica pools, so they are opened on
+    // the primary, as AbstractRoutingDataSource would for its default target
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Measures each replica's replication lag and takes replicas out of rotation while they are
+     * unreachable or further behind than the configured maximum
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkReplicationLag() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagMillis = resultSet.getLong(1);
+                replica.available = replica.lagMillis <= maxLagMillis;
+            } catch (SQLException e) {
+                replica.available = false;
+                logger.debug("Lag check failed for replica {}: {}", replica.name, e.getMessage());
+            }
+
+            if (wasAvailable != replica.available) {
+                if (replica.available) {
+                    logger.info("Replica {} back in rotation (lag {} ms)", replica.name, replica.lagMillis);
+                } else {
+                    logger.warn("Replica {} out of rotation (lag {} ms, max {} ms)",
+                            replica.name, replica.lagMillis, maxLagMillis);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
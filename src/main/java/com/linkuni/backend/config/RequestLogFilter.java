@@ -0,0 +1,79 @@
+package com.linkuni.backend.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one structured log line per request in place of per-method INFO logging, for a sample of
+ * requests only. Server errors and slow requests are always logged, so the sample rate only thins
+ * out the unremarkable ones. Runs inside the tracing filter, so each line carries the trace ID.
+ */
+public class RequestLogFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RequestLogFilter.class);
+
+    private final double sampleRate;
+    private final long slowRequestMillis;
+
+    public RequestLogFilter(double sampleRate, long slowRequestMillis) {
+        this.sampleRate = sampleRate;
+        this.slowRequestMillis = slowRequestMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Async handlers finish after this thread has returned
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logRequest(request, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logRequest(request, response, start);
+            }
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, long start) {
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        int status = response.getStatus();
+        boolean notable = status >= 500 || durationMillis >= slowRequestMillis;
+        if (!notable && (!logger.isInfoEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        (notable ? logger.atWarn() : logger.atInfo())
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMillis)
+                .log("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, durationMillis);
+    }
+}
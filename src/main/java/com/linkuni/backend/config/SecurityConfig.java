@@ -1,6 +1,7 @@
 package com.linkuni.backend.config;
 
 import com.linkuni.backend.security.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +29,10 @@ public class SecurityConfig {
     @Value("${app.frontend-url}")
     private String frontendUrl;
     
+    // Actuator's own port, which is reachable by the metrics scraper but not published (-1 if unset)
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    
     public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
     }
@@ -39,6 +44,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Results of async handlers are written in a second dispatch of an already authorized request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/api/v1/test/**").permitAll()
@@ -48,7 +55,13 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/posts/all-post/{userId}").permitAll()
                 .requestMatchers("/api/v1/posts/saved/{userId}").permitAll()
                 .requestMatchers("/api/v1/posts/filter").permitAll()
+                .requestMatchers("/api/v1/posts/filter/facets").permitAll()
                 .requestMatchers("/api/v1/posts/{postId}/extract").permitAll()
+                // Probed by the orchestrator without a user session
+                .requestMatchers("/actuator/health").permitAll()
+                // Metrics are only served on the management port, where Prometheus scrapes them
+                .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
+                .requestMatchers("/actuator/**").denyAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
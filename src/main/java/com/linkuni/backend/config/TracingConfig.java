@@ -0,0 +1,114 @@
+package com.linkuni.backend.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.ConnectionTracingObservationHandler;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import net.ttddyy.observation.tracing.QueryTracingObservationHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.tracing.MicrometerTracingAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Adds spans for the JDBC statements Hibernate runs, next to the spans Spring creates for
+ * controller handlers and outgoing HTTP calls. Spans are exported over OTLP when
+ * management.otlp.tracing.endpoint is set, and can be written to the log for local testing.
+ */
+@Configuration
+public class TracingConfig {
+
+    // Ahead of Boot's default tracing handler, which would otherwise claim the JDBC observations
+    private static final int JDBC_HANDLER_ORDER = 0;
+
+    // Wraps the application DataSource only; the pools behind it must keep their Hikari type
+    @Bean
+    public static BeanPostProcessor jdbcObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        return new JdbcObservationPostProcessor(observationRegistryProvider);
+    }
+
+    /**
+     * Runs after every other post-processor, so that the pools have been set up by the time the
+     * DataSource is wrapped regardless of the order in which configuration classes are loaded
+     */
+    private static final class JdbcObservationPostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<ObservationRegistry> observationRegistryProvider;
+
+        private JdbcObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+            this.observationRegistryProvider = observationRegistryProvider;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            // The listener reads the URL of each connection as soon as it is handed out, which would
+            // make the replica proxy pick its target before the transaction is marked read-only.
+            // Behind the proxy it only sees the connection it picked.
+            if (bean instanceof LazyConnectionDataSourceProxy lazyProxy) {
+                lazyProxy.setTargetDataSource(observed(beanName, lazyProxy.getTargetDataSource()));
+                return bean;
+            }
+            return observed(beanName, dataSource);
+        }
+
+        private DataSource observed(String name, DataSource dataSource) {
+            DataSourceObservationListener listener =
+                    new DataSourceObservationListener(observationRegistryProvider::getObject);
+            // One span per connection and statement; result set spans would add one per query again
+            listener.setSupportedTypes(Set.of(JdbcObservationDocumentation.CONNECTION,
+                    JdbcObservationDocumentation.QUERY));
+            return ProxyDataSourceBuilder.create(name, dataSource)
+                    .listener(listener)
+                    .methodListener(listener)
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+
+    @Bean
+    @Order(JDBC_HANDLER_ORDER)
+    public ConnectionTracingObservationHandler connectionTracingObservationHandler(Tracer tracer) {
+        return new ConnectionTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    @Order(JDBC_HANDLER_ORDER)
+    public QueryTracingObservationHandler queryTracingObservationHandler(Tracer tracer) {
+        return new QueryTracingObservationHandler(tracer);
+    }
+
+    // The JDBC handlers are sender handlers too, which makes Boot skip its own; without this one
+    // outgoing HTTP calls would not carry the traceparent header
+    @Bean
+    @Order(MicrometerTracingAutoConfiguration.SENDER_TRACING_OBSERVATION_HANDLER_ORDER)
+    public PropagatingSenderTracingObservationHandler<?> propagatingSenderTracingObservationHandler(
+            Tracer tracer, Propagator propagator) {
+        return new PropagatingSenderTracingObservationHandler<>(tracer, propagator);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
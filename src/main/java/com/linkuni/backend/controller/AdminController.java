@@ -0,0 +1,111 @@
+package com.linkuni.backend.controller;
+
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.model.User;
+import com.linkuni.backend.service.ModerationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+    
+    private final ModerationService moderationService;
+    
+    public AdminController(ModerationService moderationService) {
+        this.moderationService = moderationService;
+    }
+    
+    /**
+     * Gets a page of the moderation queue
+     * 
+     * @param page zero-based page number
+     * @param size number of posts per page
+     * @param authentication current authenticated user
+     * @return reported posts, fastest-growing report count first
+     */
+    @GetMapping("/moderation/queue")
+    public ResponseEntity<ApiResponse> getModerationQueue(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication authentication) {
+        logger.debug("Moderation queue requested");
+        
+        ResponseEntity<ApiResponse> denied = requireAdmin(authentication);
+        if (denied != null) {
+            return denied;
+        }
+        
+        ApiResponse response = moderationService.getModerationQueue(page, size);
+        
+        if ("error".equals(response.getStatus())) {
+            return ResponseEntity.status(500).body(response);
+        }
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Resolves a post's reports and keeps it hidden
+     * 
+     * @param postId the ID of the post
+     * @param authentication current authenticated user
+     * @return response with the result of the operation
+     */
+    @PutMapping("/moderation/posts/{postId}/hide")
+    public ResponseEntity<ApiResponse> hidePost(@PathVariable UUID postId, Authentication authentication) {
+        logger.debug("Hide post requested for post ID: {}", postId);
+        return resolve(postId, true, authentication);
+    }
+    
+    /**
+     * Resolves a post's reports and makes it visible again
+     * 
+     * @param postId the ID of the post
+     * @param authentication current authenticated user
+     * @return response with the result of the operation
+     */
+    @PutMapping("/moderation/posts/{postId}/restore")
+    public ResponseEntity<ApiResponse> restorePost(@PathVariable UUID postId, Authentication authentication) {
+        logger.debug("Restore post requested for post ID: {}", postId);
+        return resolve(postId, false, authentication);
+    }
+    
+    private ResponseEntity<ApiResponse> resolve(UUID postId, boolean hide, Authentication authentication) {
+        ResponseEntity<ApiResponse> denied = requireAdmin(authentication);
+        if (denied != null) {
+            return denied;
+        }
+        
+        ApiResponse response = moderationService.resolve(postId, hide);
+        
+        if ("error".equals(response.getStatus())) {
+            if (response.getMessage().contains("Post doesn't exist")) {
+                return ResponseEntity.status(404).body(response);
+            }
+            return ResponseEntity.status(500).body(response);
+        }
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    private ResponseEntity<ApiResponse> requireAdmin(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            logger.warn("Admin request failed: Not authenticated");
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+        
+        if (!Boolean.TRUE.equals(user.getIsAdmin())) {
+            logger.warn("Admin request failed: User {} is not an admin", user.getUserId());
+            return ResponseEntity.status(403).body(ApiResponse.error("You're not allowed to access this resource"));
+        }
+        
+        return null;
+    }
+}
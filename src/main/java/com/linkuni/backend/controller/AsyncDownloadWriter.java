@@ -0,0 +1,198 @@
+package com.linkuni.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.service.PostService;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import software.amazon.awssdk.core.async.ResponsePublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams a file from S3 to the client with non-blocking servlet I/O, so that no thread is held
+ * while either side is slow. Chunks are requested from S3 one at a time, only when the response
+ * can take more data without blocking; the request thread is released as soon as the download
+ * has been started.
+ */
+class AsyncDownloadWriter implements WriteListener, AsyncListener, Subscriber<ByteBuffer> {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDownloadWriter.class);
+
+    private final AsyncContext asyncContext;
+    private final HttpServletResponse response;
+    private final PostService.AsyncFileDownload download;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private ServletOutputStream outputStream;
+    private volatile Subscription subscription;
+    private volatile boolean contentFinished;
+
+    private AsyncDownloadWriter(AsyncContext asyncContext, PostService.AsyncFileDownload download,
+                                ObjectMapper objectMapper) {
+        this.asyncContext = asyncContext;
+        this.response = (HttpServletResponse) asyncContext.getResponse();
+        this.download = download;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Puts the request into async mode and streams the download once the response is writable
+     *
+     * @param asyncContext the started async context of the request
+     * @param download the pending download
+     * @param timeoutMillis how long the transfer may take, 0 for no limit
+     * @param objectMapper used to write the error body if S3 cannot serve the file
+     * @throws IOException if the response cannot be written to
+     */
+    static void start(AsyncContext asyncContext, PostService.AsyncFileDownload download, long timeoutMillis,
+                      ObjectMapper objectMapper) throws IOException {
+        AsyncDownloadWriter writer = new AsyncDownloadWriter(asyncContext, download, objectMapper);
+        asyncContext.setTimeout(timeoutMillis);
+        asyncContext.addListener(writer);
+        writer.outputStream = writer.response.getOutputStream();
+        // The first onWritePossible() is called after the request thread has left the filter chain,
+        // so the response is not touched from two threads at once
+        writer.outputStream.setWriteListener(writer);
+    }
+
+    @Override
+    public void onWritePossible() {
+        if (started.compareAndSet(false, true)) {
+            download.content().whenComplete(this::onContentAvailable);
+            return;
+        }
+        if (contentFinished) {
+            complete();
+            return;
+        }
+        subscription.request(1);
+    }
+
+    private void onContentAvailable(ResponsePublisher<GetObjectResponse> publisher, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            logger.error("Error downloading file: {}", cause.getMessage(), cause);
+            writeError(cause);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.parseMediaType(download.contentType()).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.formData().name("attachment").filename(download.fileName()).build().toString());
+        Long contentLength = publisher.response().contentLength();
+        if (contentLength != null) {
+            response.setContentLengthLong(contentLength);
+        }
+        publisher.subscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        // Nothing has been written yet, so the response is still writable
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+        if (completed.get()) {
+            return;
+        }
+        try {
+            if (buffer.hasArray()) {
+                outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                outputStream.write(bytes);
+            }
+            // Otherwise onWritePossible() asks for the next chunk once the data is flushed
+            if (outputStream.isReady()) {
+                subscription.request(1);
+            }
+        } catch (IOException e) {
+            onError(e);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        contentFinished = true;
+        if (outputStream.isReady()) {
+            complete();
+        }
+    }
+
+    /**
+     * Called when S3 fails mid-transfer or the client connection is lost
+     */
+    @Override
+    public void onError(Throwable error) {
+        logger.warn("File download aborted: {}", error.getMessage());
+        cancelAndComplete();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        logger.warn("File download timed out");
+        cancelAndComplete();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        cancelAndComplete();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void writeError(Throwable cause) {
+        try {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            outputStream.write(objectMapper.writeValueAsBytes(
+                    ApiResponse.error("Error downloading file: " + cause.getMessage())));
+        } catch (IOException e) {
+            logger.warn("Could not write download error: {}", e.getMessage());
+        }
+        complete();
+    }
+
+    private void cancelAndComplete() {
+        Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        complete();
+    }
+
+    private void complete() {
+        if (completed.compareAndSet(false, true)) {
+            asyncContext.complete();
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class AuthController {
 
     @GetMapping("/")
     public ResponseEntity<ApiResponse> checkAuth(Authentication authentication) {
-        logger.info("Authentication check requested");
+        logger.debug("Authentication check requested");
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Authentication check failed: No authentication found");
@@ -62,7 +62,7 @@ public class AuthController {
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("userId", user.getUserId());
             
-            logger.info("Authentication check successful for user: {}", user.getEmail());
+            logger.debug("Authentication check successful for user: {}", user.getEmail());
             return ResponseEntity.ok(ApiResponse.success("Authentication valid", responseData));
         } catch (Exception e) {
             logger.error("Error in authentication check: {}", e.getMessage());
@@ -127,7 +127,7 @@ public class AuthController {
     @PostMapping("/google")
     public ResponseEntity<ApiResponse> googleAuth(@Valid @RequestBody GoogleAuthRequest request, HttpServletResponse response) {
         try {
-            logger.info("Google auth request received for email: {}", request.getEmail());
+            logger.debug("Google auth request received for email: {}", request.getEmail());
             
             ApiResponse apiResponse = authService.googleAuth(request);
             
@@ -162,7 +162,7 @@ public class AuthController {
     
     @PostMapping("/forgot-password")
     public ResponseEntity<ApiResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
-        logger.info("Forgot password request received for email: {}", request.getEmail());
+        logger.debug("Forgot password request received for email: {}", request.getEmail());
         
         try {
             ApiResponse apiResponse = authService.forgotPassword(request);
@@ -189,7 +189,7 @@ public class AuthController {
             @PathVariable String token, 
             @Valid @RequestBody ResetPasswordRequest request) {
         
-        logger.info("Password reset request received with token");
+        logger.debug("Password reset request received with token");
         
         if (token == null || token.trim().isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,21 @@
+package com.linkuni.backend.controller;
+
+/**
+ * ETags for conditional GETs
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Weak ETag for a version stamp. Responses are the same data whether or not they are
+     * compressed, and the server does not compress responses that carry a strong ETag.
+     *
+     * @param version the version stamp of the response
+     * @return the weak ETag
+     */
+    static String weak(String version) {
+        return "W/\"" + version + "\"";
+    }
+}
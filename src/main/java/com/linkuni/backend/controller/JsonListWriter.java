@@ -0,0 +1,169 @@
+package com.linkuni.backend.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a successful {@code ApiResponse} whose data is a list straight to the response, one
+ * element at a time, with a writer resolved once for the element type. Nothing but the element
+ * being written has to be held in memory, and no serializer is looked up per element as happens
+ * for the untyped {@code data} of {@code ApiResponse}.
+ * <p>
+ * When writing to a servlet response, nothing is sent before the first element or {@link #close()},
+ * and a failure can still be answered with an error response until the first buffer has gone out.
+ *
+ * @param <T> the element type
+ */
+final class JsonListWriter<T> implements Closeable {
+
+    private final HttpServletResponse response;
+    private final ObjectWriter elementWriter;
+    private final String message;
+    private String emptyMessage;
+    private HttpHeaders headers = HttpHeaders.EMPTY;
+    private JsonGenerator generator;
+    private int count;
+
+    private JsonListWriter(HttpServletResponse response, ObjectWriter elementWriter, String message) {
+        this.response = response;
+        this.elementWriter = elementWriter;
+        this.message = message;
+        this.emptyMessage = message;
+    }
+
+    /**
+     * Resolves the writer for list elements, to be created once and reused for every response
+     *
+     * @param objectMapper the application's mapper
+     * @param elementType the element type
+     * @return the element writer
+     */
+    static ObjectWriter elementWriter(ObjectMapper objectMapper, Class<?> elementType) {
+        // The default flushes after every value, which would send a network packet per element
+        return objectMapper.writerFor(elementType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Creates a writer that commits a 200 JSON response with the first element, or on close
+     *
+     * @param response the response to write to
+     * @param elementWriter the writer from {@link #elementWriter(ObjectMapper, Class)}
+     * @param message the message of the response
+     * @return the writer for the list elements; closing it completes the response
+     */
+    static <T> JsonListWriter<T> forResponse(HttpServletResponse response, ObjectWriter elementWriter,
+                                             String message) {
+        return new JsonListWriter<>(response, elementWriter, message);
+    }
+
+    /**
+     * Writes the envelope up to the start of the list
+     *
+     * @param out the stream to write to; it is flushed but not closed at the end
+     * @param elementWriter the writer from {@link #elementWriter(ObjectMapper, Class)}
+     * @param message the message of the response
+     * @return the writer for the list elements
+     * @throws IOException if the stream cannot be written to
+     */
+    static <T> JsonListWriter<T> start(OutputStream out, ObjectWriter elementWriter, String message)
+            throws IOException {
+        JsonListWriter<T> writer = new JsonListWriter<>(null, elementWriter, message);
+        writer.begin(out, message);
+        return writer;
+    }
+
+    /**
+     * @param emptyMessage the message of the response if the list turns out to be empty
+     * @return this writer
+     */
+    JsonListWriter<T> whenEmpty(String emptyMessage) {
+        this.emptyMessage = emptyMessage;
+        return this;
+    }
+
+    /**
+     * @param headers headers to add to the response once it is started, e.g. for caching
+     * @return this writer
+     */
+    JsonListWriter<T> withHeaders(HttpHeaders headers) {
+        this.headers = headers;
+        return this;
+    }
+
+    /**
+     * @param element the next list element
+     * @throws IOException if the response cannot be written to
+     */
+    void write(T element) throws IOException {
+        if (generator == null) {
+            beginResponse(message);
+        }
+        elementWriter.writeValue(generator, element);
+        count++;
+    }
+
+    /**
+     * @return the number of elements written so far
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Drops what has been written so far, if none of it has reached the client yet
+     *
+     * @return true if the response can still be replaced, e.g. by an error response
+     */
+    boolean tryReset() {
+        if (generator == null) {
+            return true;
+        }
+        if (response == null || response.isCommitted()) {
+            return false;
+        }
+        // The generator's buffer is dropped with it; the response is reset including its headers
+        response.reset();
+        generator = null;
+        count = 0;
+        return true;
+    }
+
+    /**
+     * Ends the list and the envelope and flushes what is still buffered
+     */
+    @Override
+    public void close() throws IOException {
+        if (generator == null) {
+            beginResponse(emptyMessage);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void beginResponse(String responseMessage) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        begin(response.getOutputStream(), responseMessage);
+    }
+
+    private void begin(OutputStream out, String responseMessage) throws IOException {
+        generator = elementWriter.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeStringField("status", "success");
+        generator.writeStringField("message", responseMessage);
+        generator.writeArrayFieldStart("data");
+    }
+}
@@ -1,49 +1,87 @@
 package com.linkuni.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.linkuni.backend.dto.ApiResponse;
 import com.linkuni.backend.dto.PostDto;
 import com.linkuni.backend.dto.PostFilterRequest;
 import com.linkuni.backend.dto.PostUploadRequest;
-import com.linkuni.backend.model.Summary;
-import com.linkuni.backend.model.TextExtract;
+import com.linkuni.backend.dto.ThumbnailUrlDto;
 import com.linkuni.backend.model.User;
-import com.linkuni.backend.repository.SummaryRepository;
-import com.linkuni.backend.repository.TextExtractRepository;
+import com.linkuni.backend.service.FacetService;
+import com.linkuni.backend.service.FeedService;
 import com.linkuni.backend.service.PostService;
+import com.linkuni.backend.service.ThumbnailService;
+import com.linkuni.backend.service.TimelineService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/posts")
 public class PostController {
     private static final Logger logger = LoggerFactory.getLogger(PostController.class);
     
+    // Cache lifetimes for conditional GETs; 0 means clients revalidate with If-None-Match on every use
+    @Value("${app.http-cache.post-max-age-seconds:0}")
+    private long postMaxAgeSeconds;
+    
+    @Value("${app.http-cache.user-posts-max-age-seconds:0}")
+    private long userPostsMaxAgeSeconds;
+    
+    @Value("${app.http-cache.extract-max-age-seconds:300}")
+    private long extractMaxAgeSeconds;
+    
+    // Transfers go through the non-blocking S3 client unless this is switched off
+    @Value("${aws.s3.async.enabled:true}")
+    private boolean asyncTransfers;
+    
+    @Value("${aws.s3.async.download-timeout-ms:600000}")
+    private long downloadTimeoutMs;
+    
     private final PostService postService;
-    private final SummaryRepository summaryRepository;
-    private final TextExtractRepository textExtractRepository;
+    private final FeedService feedService;
+    private final TimelineService timelineService;
+    private final FacetService facetService;
+    private final ThumbnailService thumbnailService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter postWriter;
     
     public PostController(PostService postService, 
-                         SummaryRepository summaryRepository, 
-                         TextExtractRepository textExtractRepository) {
+                         FeedService feedService,
+                         TimelineService timelineService,
+                         FacetService facetService,
+                         ThumbnailService thumbnailService,
+                         ObjectMapper objectMapper) {
         this.postService = postService;
-        this.summaryRepository = summaryRepository;
-        this.textExtractRepository = textExtractRepository;
+        this.feedService = feedService;
+        this.timelineService = timelineService;
+        this.facetService = facetService;
+        this.thumbnailService = thumbnailService;
+        this.objectMapper = objectMapper;
+        this.postWriter = JsonListWriter.elementWriter(objectMapper, PostDto.class);
     }
     
     /**
@@ -63,7 +101,7 @@ public class PostController {
         consumes = MediaType.MULTIPART_FORM_DATA_VALUE, 
         produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<ApiResponse> uploadPost(
+    public CompletableFuture<ResponseEntity<ApiResponse>> uploadPost(
             @RequestParam("file") MultipartFile file,
             @RequestParam("title") String title,
             @RequestParam(value = "desc", required = false) String desc,
@@ -72,11 +110,12 @@ public class PostController {
             @RequestParam("resourceType") String resourceType,
             Authentication authentication
     ) {
-        logger.info("Post upload requested");
+        logger.debug("Post upload requested");
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Post upload failed: Not authenticated");
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(401).body(ApiResponse.error("Not authenticated")));
         }
         
         // Create the request object
@@ -88,24 +127,38 @@ public class PostController {
         request.setResourceType(resourceType);
         
         User user = (User) authentication.getPrincipal();
-        ApiResponse response = postService.uploadPost(user.getUserId(), file, request);
-        
-        if ("error".equals(response.getStatus())) {
-            return ResponseEntity.badRequest().body(response);
-        }
+        CompletableFuture<ApiResponse> upload = asyncTransfers
+                ? postService.uploadPostAsync(user.getUserId(), file, request)
+                : CompletableFuture.completedFuture(postService.uploadPost(user.getUserId(), file, request));
         
-        return ResponseEntity.ok(response);
+        return upload.thenApply(response -> {
+            if ("error".equals(response.getStatus())) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            return ResponseEntity.ok(response);
+        });
     }
     
     /**
      * Gets a post by ID
      * 
      * @param postId the ID of the post
+     * @param webRequest the current request, checked against If-None-Match
      * @return the post
      */
     @GetMapping("/{postId}")
-    public ResponseEntity<ApiResponse> getPostById(@PathVariable UUID postId) {
-        logger.info("Get post by ID requested: {}", postId);
+    public ResponseEntity<ApiResponse> getPostById(@PathVariable UUID postId, WebRequest webRequest) {
+        logger.debug("Get post by ID requested: {}", postId);
+        
+        CacheControl cacheControl = CacheControl.maxAge(postMaxAgeSeconds, TimeUnit.SECONDS)
+                .cachePrivate().mustRevalidate();
+        
+        // The version is read before the post, so a concurrent update can only make it stale, never ahead
+        String eTag = postService.getPostVersion(postId);
+        if (eTag != null && webRequest.checkNotModified(ETags.weak(eTag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
         
         ApiResponse response = postService.getPostById(postId);
         
@@ -113,7 +166,7 @@ public class PostController {
             return ResponseEntity.status(404).body(response);
         }
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(response);
     }
     
     /**
@@ -121,11 +174,14 @@ public class PostController {
      * 
      * @param postId the ID of the post containing the file
      * @param authentication current authenticated user
-     * @return the file as a stream
+     * @param request the current request, put into async mode for non-blocking downloads
+     * @return the file as a stream, or null when the file is streamed asynchronously
+     * @throws IOException if an asynchronous download cannot be started
      */
     @GetMapping("/download-file/{postId}")
-    public ResponseEntity<?> downloadFile(@PathVariable UUID postId, Authentication authentication) {
-        logger.info("File download requested for post ID: {}", postId);
+    public ResponseEntity<?> downloadFile(@PathVariable UUID postId, Authentication authentication,
+                                          HttpServletRequest request) throws IOException {
+        logger.debug("File download requested for post ID: {}", postId);
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -134,6 +190,18 @@ public class PostController {
                     .body(ApiResponse.error("Not authenticated"));
         }
         
+        if (asyncTransfers) {
+            PostService.AsyncFileDownload download = postService.downloadFileFromPostAsync(postId);
+            if (download == null) {
+                return ResponseEntity.status(404)
+                        .body(ApiResponse.error("Post doesn't exist!"));
+            }
+            
+            // The response is written by the download writer; returning null tells Spring it is handled
+            AsyncDownloadWriter.start(request.startAsync(), download, downloadTimeoutMs, objectMapper);
+            return null;
+        }
+        
         try {
             // Get file from post
             PostService.StreamingResponse streamingResponse = postService.downloadFileFromPost(postId);
@@ -170,7 +238,7 @@ public class PostController {
      */
     @DeleteMapping("/{postId}/delete")
     public ResponseEntity<ApiResponse> deletePost(@PathVariable UUID postId, Authentication authentication) {
-        logger.info("Delete post requested for post ID: {}", postId);
+        logger.debug("Delete post requested for post ID: {}", postId);
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -199,14 +267,19 @@ public class PostController {
     }
     
     /**
-     * Gets all posts from the database
+     * Gets a page of the ranked feed for the current user
      * 
+     * @param page zero-based page number
+     * @param size number of posts per page
      * @param authentication current authenticated user
-     * @return list of all posts
+     * @return posts ranked for the user's program and followings
      */
     @GetMapping("/")
-    public ResponseEntity<ApiResponse> getAllPosts(Authentication authentication) {
-        logger.info("Get all posts requested");
+    public ResponseEntity<ApiResponse> getAllPosts(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication authentication) {
+        logger.debug("Get all posts requested");
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -215,7 +288,8 @@ public class PostController {
                     .body(ApiResponse.error("Not authenticated"));
         }
         
-        ApiResponse response = postService.getAllPosts();
+        User user = (User) authentication.getPrincipal();
+        ApiResponse response = feedService.getFeed(user.getUserId(), user.getProgram(), page, size);
         
         if ("error".equals(response.getStatus())) {
             return ResponseEntity.status(500).body(response);
@@ -225,21 +299,30 @@ public class PostController {
     }
     
     /**
-     * Gets all posts created by a specific user
+     * Gets a page of the current user's home timeline
      * 
-     * @param userId the ID of the user
-     * @return list of posts created by the user
+     * @param page zero-based page number
+     * @param size number of posts per page
+     * @param authentication current authenticated user
+     * @return posts from the users the current user follows, newest first
      */
-    @GetMapping("/all-post/{userId}")
-    public ResponseEntity<ApiResponse> getAllPostsByUser(@PathVariable UUID userId) {
-        logger.info("Get all posts by user requested for user ID: {}", userId);
+    @GetMapping("/timeline")
+    public ResponseEntity<ApiResponse> getTimeline(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication authentication) {
+        logger.debug("Get timeline requested");
         
-        ApiResponse response = postService.getPostsByUser(userId);
+        if (authentication == null || authentication.getPrincipal() == null) {
+            logger.warn("Get timeline failed: Not authenticated");
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error("Not authenticated"));
+        }
+        
+        User user = (User) authentication.getPrincipal();
+        ApiResponse response = timelineService.getTimeline(user.getUserId(), page, size);
         
         if ("error".equals(response.getStatus())) {
-            if (response.getMessage().contains("User not found")) {
-                return ResponseEntity.status(404).body(response);
-            }
             return ResponseEntity.status(500).body(response);
         }
         
@@ -247,25 +330,79 @@ public class PostController {
     }
     
     /**
-     * Gets all posts saved by a user
+     * Gets all posts created by a specific user. The posts are written out as they are read.
      * 
      * @param userId the ID of the user
-     * @return list of saved posts
+     * @param authentication current authenticated user, if any
+     * @param webRequest the current request, checked against If-None-Match
+     * @param httpResponse the response the posts are streamed to
+     * @return an error or not-modified response, or null once the posts have been written
+     * @throws IOException if the response cannot be written to
      */
-    @GetMapping("/saved/{userId}")
-    public ResponseEntity<ApiResponse> getSavedPosts(@PathVariable UUID userId) {
-        logger.info("Get saved posts requested for user ID: {}", userId);
-        
-        ApiResponse response = postService.getSavedPostsByUser(userId);
+    @GetMapping("/all-post/{userId}")
+    public ResponseEntity<ApiResponse> getAllPostsByUser(
+            @PathVariable UUID userId,
+            Authentication authentication,
+            WebRequest webRequest,
+            HttpServletResponse httpResponse
+    ) throws IOException {
+        logger.debug("Get all posts by user requested for user ID: {}", userId);
+        
+        UUID viewerId = viewerId(authentication);
+        // The list depends on the viewer's reports, so it may only be cached per session
+        CacheControl cacheControl = CacheControl.maxAge(userPostsMaxAgeSeconds, TimeUnit.SECONDS)
+                .cachePrivate().mustRevalidate();
+        
+        String eTag = postService.getPostsByUserVersion(userId, viewerId);
+        if (eTag != null && webRequest.checkNotModified(ETags.weak(eTag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl).varyBy(HttpHeaders.COOKIE).build();
+        }
         
-        if ("error".equals(response.getStatus())) {
-            if (response.getMessage().contains("User not found")) {
-                return ResponseEntity.status(404).body(response);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.setVary(List.of(HttpHeaders.COOKIE));
+        JsonListWriter<PostDto> writer = JsonListWriter.<PostDto>forResponse(httpResponse, postWriter,
+                "User posts retrieved successfully").withHeaders(headers);
+        try {
+            if (!postService.streamPostsByUser(userId, viewerId, writer::write)) {
+                return ResponseEntity.status(404).body(ApiResponse.error("User not found"));
             }
-            return ResponseEntity.status(500).body(response);
+        } catch (Exception e) {
+            return streamFailed(writer, "Error retrieving user posts", e);
         }
-        
-        return ResponseEntity.ok(response);
+        writer.close();
+        return null;
+    }
+    
+    /**
+     * Gets all posts saved by a user. The posts are written out as they are read.
+     * 
+     * @param userId the ID of the user
+     * @param authentication current authenticated user, if any
+     * @param httpResponse the response the posts are streamed to
+     * @return an error response, or null once the posts have been written
+     * @throws IOException if the response cannot be written to
+     */
+    @GetMapping("/saved/{userId}")
+    public ResponseEntity<ApiResponse> getSavedPosts(
+            @PathVariable UUID userId,
+            Authentication authentication,
+            HttpServletResponse httpResponse
+    ) throws IOException {
+        logger.debug("Get saved posts requested for user ID: {}", userId);
+        
+        JsonListWriter<PostDto> writer = JsonListWriter.<PostDto>forResponse(httpResponse, postWriter,
+                "Saved posts retrieved successfully").whenEmpty("User has no saved posts");
+        try {
+            if (!postService.streamSavedPostsByUser(userId, viewerId(authentication), writer::write)) {
+                return ResponseEntity.status(404).body(ApiResponse.error("User not found"));
+            }
+        } catch (Exception e) {
+            return streamFailed(writer, "Error retrieving saved posts", e);
+        }
+        writer.close();
+        return null;
     }
     
     /**
@@ -290,7 +427,7 @@ public class PostController {
             @RequestParam(required = false) String resourceType,
             Authentication authentication
     ) {
-        logger.info("Update post requested for post ID: {}", postId);
+        logger.debug("Update post requested for post ID: {}", postId);
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -331,7 +468,7 @@ public class PostController {
             @PathVariable UUID postId,
             Authentication authentication
     ) {
-        logger.info("Like/unlike post requested for post ID: {}", postId);
+        logger.debug("Like/unlike post requested for post ID: {}", postId);
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -365,7 +502,7 @@ public class PostController {
             @PathVariable UUID postId,
             Authentication authentication
     ) {
-        logger.info("Save/unsave post requested for post ID: {}", postId);
+        logger.debug("Save/unsave post requested for post ID: {}", postId);
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -402,7 +539,7 @@ public class PostController {
             @PathVariable UUID postId,
             Authentication authentication
     ) {
-        logger.info("Report post requested for post ID: {}", postId);
+        logger.debug("Report post requested for post ID: {}", postId);
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -431,7 +568,10 @@ public class PostController {
      * Filters posts based on multiple criteria
      * 
      * @param filterRequest the filter criteria
-     * @return the filtered posts
+     * @param authentication current authenticated user, if any
+     * @param httpResponse the response the posts are streamed to
+     * @return an error response, or null once the posts have been written
+     * @throws IOException if the response cannot be written to
      */
     @PostMapping(
         path = "/filter",
@@ -439,16 +579,48 @@ public class PostController {
         produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<ApiResponse> filterPosts(
-            @RequestBody PostFilterRequest filterRequest
-    ) {
-        logger.info("Filter posts requested with criteria: {}", filterRequest);
+            @RequestBody PostFilterRequest filterRequest,
+            Authentication authentication,
+            HttpServletResponse httpResponse
+    ) throws IOException {
+        logger.debug("Filter posts requested with criteria: {}", filterRequest);
         
         // Ensure filter request is not null
         if (filterRequest == null) {
             filterRequest = new PostFilterRequest();
         }
         
-        ApiResponse response = postService.filterPosts(filterRequest);
+        // Filters can match thousands of posts, so they are written out as they are read
+        JsonListWriter<PostDto> writer = JsonListWriter.forResponse(httpResponse, postWriter,
+                "Posts filtered successfully");
+        try {
+            postService.streamFilteredPosts(filterRequest, viewerId(authentication), writer::write);
+        } catch (Exception e) {
+            return streamFailed(writer, "Error filtering posts", e);
+        }
+        writer.close();
+        // The body has been written; returning null tells Spring the request is handled
+        return null;
+    }
+    
+    /**
+     * Counts the posts matching a filter per program, course, resource type and file type,
+     * for building the filter drop-downs
+     * 
+     * @param filterRequest the current filter criteria
+     * @return the counts per facet value
+     */
+    @PostMapping(
+        path = "/filter/facets",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<ApiResponse> getFacets(@RequestBody(required = false) PostFilterRequest filterRequest) {
+        if (filterRequest == null) {
+            filterRequest = new PostFilterRequest();
+        }
+        
+        ApiResponse response = facetService.getFacets(filterRequest);
         
         if ("error".equals(response.getStatus())) {
             return ResponseEntity.status(500).body(response);
@@ -469,7 +641,7 @@ public class PostController {
             @PathVariable UUID postId,
             Authentication authentication
     ) {
-        logger.info("Get presigned URL requested for post ID: {}", postId);
+        logger.debug("Get presigned URL requested for post ID: {}", postId);
         
         // Check authentication
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -490,36 +662,109 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Generates a presigned URL for a thumbnail of an image post, or of a rendered page of a PDF
+     * post, for use on cards and previews instead of the original. The same URL is handed out for
+     * a while, so the response may be cached until shortly before it expires.
+     * 
+     * @param postId the ID of the post
+     * @param page the page of a PDF, starting at 1; images only have page 1
+     * @param width the width the thumbnail will be displayed at
+     * @param authentication current authenticated user
+     * @return the presigned URL, the width of the thumbnail it points to and the number of pages
+     */
+    @GetMapping("/preview/{postId}/thumbnail")
+    public ResponseEntity<ApiResponse> getThumbnailUrl(
+            @PathVariable UUID postId,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "320") int width,
+            Authentication authentication
+    ) {
+        logger.debug("Get thumbnail URL requested for post ID: {}, page {} at width {}", postId, page, width);
+        
+        if (authentication == null || authentication.getPrincipal() == null) {
+            logger.warn("Get thumbnail URL failed: Not authenticated");
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error("Not authenticated"));
+        }
+        
+        ApiResponse response = thumbnailService.getThumbnailUrl(postId, page, width);
+        
+        if ("error".equals(response.getStatus())) {
+            // Posts without thumbnails are previewed through their original file
+            if (response.getMessage().contains("Post doesn't exist")
+                    || response.getMessage().contains("Thumbnail not available")) {
+                return ResponseEntity.status(404).body(response);
+            }
+            return ResponseEntity.status(500).body(response);
+        }
+        
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (response.getData() instanceof ThumbnailUrlDto url) {
+            // Leave a minute for the image to be fetched before the URL expires
+            long maxAge = Duration.between(Instant.now(), url.expiresAt()).minusMinutes(1).toSeconds();
+            ok.cacheControl(CacheControl.maxAge(Math.max(0, maxAge), TimeUnit.SECONDS).cachePrivate());
+        }
+        return ok.body(response);
+    }
+    
     /**
      * Get text extraction data for a post
      * 
      * @param postId The ID of the post
+     * @param webRequest the current request, checked against If-None-Match
      * @return The extracted text and summary
      */
     @GetMapping("/{postId}/extract")
-    public ResponseEntity<ApiResponse> getTextExtraction(@PathVariable UUID postId) {
-        logger.info("Get text extraction requested for post ID: {}", postId);
+    public ResponseEntity<ApiResponse> getTextExtraction(@PathVariable UUID postId, WebRequest webRequest) {
+        logger.debug("Get text extraction requested for post ID: {}", postId);
         
-        Map<String, Object> extractionData = new HashMap<>();
+        // Summaries and extracts are written once per post and are the same for every viewer
+        CacheControl cacheControl = CacheControl.maxAge(extractMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
         
-        // Get summary if available, otherwise set default text
-        Optional<Summary> summaryOptional = summaryRepository.findByPost_PostId(postId);
-        if (summaryOptional.isPresent()) {
-            extractionData.put("summary", summaryOptional.get().getSummaryText());
-        } else {
-            extractionData.put("summary", "Summary not available");
+        String eTag = postService.getExtractionVersion(postId);
+        if (eTag != null && webRequest.checkNotModified(ETags.weak(eTag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
         }
         
-        // Get extracted text if available
-        Optional<TextExtract> textExtractOptional = textExtractRepository.findByPost_PostId(postId);
-        if (textExtractOptional.isPresent()) {
-            extractionData.put("extractedText", textExtractOptional.get().getExtractedText());
-        }
+        ApiResponse response = postService.getTextExtraction(postId);
         
-        if (extractionData.size() <= 1 && !extractionData.containsKey("extractedText")) {
+        if ("error".equals(response.getStatus())) {
             return ResponseEntity.notFound().build();
         }
         
-        return ResponseEntity.ok(ApiResponse.success("Text extraction data retrieved", extractionData));
+        return ResponseEntity.ok().cacheControl(cacheControl).body(response);
+    }
+    
+    /**
+     * Resolves the viewing user on endpoints that also allow anonymous access
+     * 
+     * @param authentication current authentication, possibly anonymous
+     * @return the user's ID, or null for anonymous viewers
+     */
+    private UUID viewerId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+    
+    /**
+     * Answers a failed streamed listing with an error response, unless part of it has already
+     * reached the client
+     * 
+     * @param writer the writer of the listing
+     * @param message what was being done
+     * @param e the failure
+     * @return the error response, or null if the response was already committed
+     */
+    private ResponseEntity<ApiResponse> streamFailed(JsonListWriter<?> writer, String message, Exception e) {
+        if (writer.tryReset()) {
+            logger.error("{}: {}", message, e.getMessage(), e);
+            return ResponseEntity.status(500).body(ApiResponse.error(message + ": " + e.getMessage()));
+        }
+        // The JSON is left unterminated, so the client cannot mistake the partial list for a complete one
+        logger.error("{} after {} posts had been sent: {}", message, writer.count(), e.getMessage(), e);
+        return null;
     }
-} 
\ No newline at end of file
+}
@@ -13,17 +13,26 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/user")
 public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     
+    // Cache lifetime for profiles; 0 means clients revalidate with If-None-Match on every use
+    @Value("${app.http-cache.user-max-age-seconds:0}")
+    private long userMaxAgeSeconds;
+    
     private final UserService userService;
     
     public UserController(UserService userService) {
@@ -48,7 +57,7 @@ public class UserController {
      */
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse> logout(HttpServletResponse response) {
-        logger.info("Logout requested");
+        logger.debug("Logout requested");
         
         // Clear the auth token cookie
         Cookie cookie = new Cookie("token", null);
@@ -57,7 +66,7 @@ public class UserController {
         cookie.setMaxAge(0); // Delete the cookie
         response.addCookie(cookie);
         
-        logger.info("Logout successful");
+        logger.debug("Logout successful");
         return ResponseEntity.ok(ApiResponse.success("Logout successful!", null));
     }
     
@@ -71,7 +80,7 @@ public class UserController {
     @PutMapping("/update-user")
     public ResponseEntity<ApiResponse> updateUser(@Valid @RequestBody UpdateUserRequest request, 
                                                Authentication authentication) {
-        logger.info("Update user profile requested");
+        logger.debug("Update user profile requested");
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Update user failed: Not authenticated");
@@ -98,7 +107,7 @@ public class UserController {
     @PostMapping("/onboarding")
     public ResponseEntity<ApiResponse> onboardUser(@Valid @RequestBody OnboardingRequest request,
                                                 Authentication authentication) {
-        logger.info("User onboarding requested");
+        logger.debug("User onboarding requested");
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Onboarding failed: Not authenticated");
@@ -127,7 +136,7 @@ public class UserController {
     public ResponseEntity<ApiResponse> getUserConnections(@PathVariable UUID userId,
                                                        @RequestParam String connection,
                                                        Authentication authentication) {
-        logger.info("Get user connections requested. User ID: {}, Connection type: {}", userId, connection);
+        logger.debug("Get user connections requested. User ID: {}, Connection type: {}", userId, connection);
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Get connections failed: Not authenticated");
@@ -153,7 +162,7 @@ public class UserController {
     @PutMapping("/{userId}/follow")
     public ResponseEntity<ApiResponse> followUser(@PathVariable UUID userId,
                                                Authentication authentication) {
-        logger.info("Follow user requested. Target User ID: {}", userId);
+        logger.debug("Follow user requested. Target User ID: {}", userId);
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Follow user failed: Not authenticated");
@@ -180,7 +189,7 @@ public class UserController {
     @PutMapping("/{userId}/unfollow")
     public ResponseEntity<ApiResponse> unfollowUser(@PathVariable UUID userId,
                                                  Authentication authentication) {
-        logger.info("Unfollow user requested. Target User ID: {}", userId);
+        logger.debug("Unfollow user requested. Target User ID: {}", userId);
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Unfollow user failed: Not authenticated");
@@ -207,7 +216,7 @@ public class UserController {
     @PutMapping("/update-share-space-profile")
     public ResponseEntity<ApiResponse> updateShareSpaceProfile(@Valid @RequestBody ShareSpaceProfileRequest request,
                                                            Authentication authentication) {
-        logger.info("Update share space profile type requested");
+        logger.debug("Update share space profile type requested");
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Update share space profile type failed: Not authenticated");
@@ -234,7 +243,7 @@ public class UserController {
     @PutMapping("/update-share-space-username")
     public ResponseEntity<ApiResponse> updateShareSpaceUsername(@Valid @RequestBody ShareSpaceUsernameRequest request,
                                                              Authentication authentication) {
-        logger.info("Update share space username requested");
+        logger.debug("Update share space username requested");
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Update share space username failed: Not authenticated");
@@ -261,7 +270,7 @@ public class UserController {
     @DeleteMapping("/delete-user")
     public ResponseEntity<ApiResponse> deleteUser(Authentication authentication, 
                                                HttpServletResponse response) {
-        logger.info("Delete user account requested");
+        logger.debug("Delete user account requested");
         
         if (authentication == null || authentication.getPrincipal() == null) {
             logger.warn("Delete user failed: Not authenticated");
@@ -289,11 +298,21 @@ public class UserController {
      * Gets a single user by ID
      *
      * @param userId the ID of the user to retrieve
+     * @param webRequest the current request, checked against If-None-Match
      * @return user information
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<ApiResponse> getUserById(@PathVariable UUID userId) {
-        logger.info("Get user by ID requested: {}", userId);
+    public ResponseEntity<ApiResponse> getUserById(@PathVariable UUID userId, WebRequest webRequest) {
+        logger.debug("Get user by ID requested: {}", userId);
+        
+        // Profiles include the email address, so they must not be kept by shared caches
+        CacheControl cacheControl = CacheControl.maxAge(userMaxAgeSeconds, TimeUnit.SECONDS)
+                .cachePrivate().mustRevalidate();
+        
+        String eTag = userService.getUserVersion(userId);
+        if (eTag != null && webRequest.checkNotModified(ETags.weak(eTag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
         
         ApiResponse response = userService.getUserById(userId);
         
@@ -301,7 +320,7 @@ public class UserController {
             return ResponseEntity.status(404).body(response);
         }
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(response);
     }
     
     /**
@@ -311,7 +330,7 @@ public class UserController {
      */
     @GetMapping("/")
     public ResponseEntity<ApiResponse> getAllUsers() {
-        logger.info("Get all users requested");
+        logger.debug("Get all users requested");
         
         ApiResponse response = userService.getAllUsers();
         return ResponseEntity.ok(response);
@@ -0,0 +1,97 @@
+package com.linkuni.backend.dto;
+
+import com.linkuni.backend.repository.PostReportRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ModerationQueueItemDto {
+    private UUID postId;
+    private String title;
+    private UUID authorId;
+    private int reportCount;
+    private long recentReports;
+    private boolean hidden;
+    private LocalDateTime firstReportedAt;
+    private LocalDateTime lastReportedAt;
+
+    public ModerationQueueItemDto() {
+    }
+
+    public static ModerationQueueItemDto fromRow(PostReportRepository.ModerationQueueRow row) {
+        ModerationQueueItemDto dto = new ModerationQueueItemDto();
+        dto.setPostId(row.getPostId());
+        dto.setTitle(row.getTitle());
+        dto.setAuthorId(row.getAuthorId());
+        dto.setReportCount(row.getReportCount() != null ? row.getReportCount() : 0);
+        dto.setRecentReports(row.getRecentReports() != null ? row.getRecentReports() : 0);
+        dto.setHidden(Boolean.TRUE.equals(row.getHidden()));
+        dto.setFirstReportedAt(row.getFirstReportedAt());
+        dto.setLastReportedAt(row.getLastReportedAt());
+        return dto;
+    }
+
+    public UUID getPostId() {
+        return postId;
+    }
+
+    public void setPostId(UUID postId) {
+        this.postId = postId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(UUID authorId) {
+        this.authorId = authorId;
+    }
+
+    public int getReportCount() {
+        return reportCount;
+    }
+
+    public void setReportCount(int reportCount) {
+        this.reportCount = reportCount;
+    }
+
+    public long getRecentReports() {
+        return recentReports;
+    }
+
+    public void setRecentReports(long recentReports) {
+        this.recentReports = recentReports;
+    }
+
+    public boolean isHidden() {
+        return hidden;
+    }
+
+    public void setHidden(boolean hidden) {
+        this.hidden = hidden;
+    }
+
+    public LocalDateTime getFirstReportedAt() {
+        return firstReportedAt;
+    }
+
+    public void setFirstReportedAt(LocalDateTime firstReportedAt) {
+        this.firstReportedAt = firstReportedAt;
+    }
+
+    public LocalDateTime getLastReportedAt() {
+        return lastReportedAt;
+    }
+
+    public void setLastReportedAt(LocalDateTime lastReportedAt) {
+        this.lastReportedAt = lastReportedAt;
+    }
+}
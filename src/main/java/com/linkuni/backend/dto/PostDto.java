@@ -1,198 +1,112 @@
 package com.linkuni.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.linkuni.backend.model.Post;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
-public class PostDto {
-    private UUID _id;
-    private UUID userId;
-    private String title;
-    private String desc;
-    private String fileUrl;
-    private String fileKey;
-    private String fileType;
-    private String fileName;
-    private Map<String, String> category;
-    private String userFirstName;
-    private String userLastName;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-    private List<UUID> likes;
-    private AuthorDto author;
-    private String summary;
-    private String extractedText;
-    
-    public PostDto() {
-        this.category = new HashMap<>();
-        this.likes = new ArrayList<>();
-    }
-    
-    public static PostDto fromPost(Post post) {
-        PostDto dto = new PostDto();
-        dto.set_id(post.getPostId());
-        dto.setUserId(post.getUser().getUserId());
-        dto.setTitle(post.getTitle());
-        dto.setDesc(post.getDescription());
-        dto.setFileUrl(post.getFileUrl());
-        dto.setFileKey(post.getFileKey());
-        dto.setFileType(post.getFileType());
-        dto.setFileName(post.getFileName());
-        
-        Map<String, String> category = new HashMap<>();
-        category.put("program", post.getProgram());
-        category.put("course", post.getCourse());
-        category.put("resourceType", post.getResourceType());
-        dto.setCategory(category);
-        
-        dto.setUserFirstName(post.getUser().getFirstname());
-        dto.setUserLastName(post.getUser().getLastname());
-        dto.setCreatedAt(post.getCreatedAt());
-        dto.setUpdatedAt(post.getUpdatedAt());
-        dto.setLikes(post.getLikes());
-        dto.setAuthor(AuthorDto.fromUser(post.getUser()));
-        
-        return dto;
-    }
-
-    public UUID get_id() {
-        return _id;
-    }
-
-    public void set_id(UUID _id) {
-        this._id = _id;
-    }
-
-    public UUID getUserId() {
-        return userId;
-    }
-
-    public void setUserId(UUID userId) {
-        this.userId = userId;
-    }
-
-    public String getTitle() {
-        return title;
-    }
-
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
-    public String getDesc() {
-        return desc;
-    }
-
-    public void setDesc(String desc) {
-        this.desc = desc;
-    }
-
-    public String getFileUrl() {
-        return fileUrl;
-    }
-
-    public void setFileUrl(String fileUrl) {
-        this.fileUrl = fileUrl;
-    }
-
-    public String getFileKey() {
-        return fileKey;
-    }
-
-    public void setFileKey(String fileKey) {
-        this.fileKey = fileKey;
-    }
-
-    public String getFileType() {
-        return fileType;
-    }
-
-    public void setFileType(String fileType) {
-        this.fileType = fileType;
-    }
-
-    public String getFileName() {
-        return fileName;
+/**
+ * A post as returned by the API. Immutable, so summaries and extracted text are added with
+ * {@link #withSummary(String)} and {@link #withExtractedText(String)}.
+ *
+ * @param id the post ID, serialized as {@code _id}
+ * @param category the program, course and resource type, always with these three fields
+ * @param thumbnailWidths the widths of the post's WebP thumbnails, empty until they have been generated
+ * @param likes the IDs of the users who liked the post, copied from the entity
+ */
+public record PostDto(
+        @JsonProperty("_id") UUID id,
+        UUID userId,
+        String title,
+        String desc,
+        String fileUrl,
+        String fileKey,
+        String fileType,
+        String fileName,
+        List<Integer> thumbnailWidths,
+        Category category,
+        String userFirstName,
+        String userLastName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<UUID> likes,
+        AuthorDto author,
+        String summary,
+        String extractedText
+) {
+
+    /**
+     * The category of a post
+     *
+     * @param program the program, e.g. a degree
+     * @param course the course within the program
+     * @param resourceType the kind of resource, e.g. notes or an exam
+     */
+    public record Category(String program, String course, String resourceType) {
     }
 
-    public void setFileName(String fileName) {
-        this.fileName = fileName;
-    }
-
-    public Map<String, String> getCategory() {
-        return category;
-    }
-
-    public void setCategory(Map<String, String> category) {
-        this.category = category;
-    }
-
-    public String getUserFirstName() {
-        return userFirstName;
-    }
-
-    public void setUserFirstName(String userFirstName) {
-        this.userFirstName = userFirstName;
-    }
-
-    public String getUserLastName() {
-        return userLastName;
-    }
-
-    public void setUserLastName(String userLastName) {
-        this.userLastName = userLastName;
-    }
-
-    public LocalDateTime getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
-    }
-
-    public LocalDateTime getUpdatedAt() {
-        return updatedAt;
-    }
-
-    public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
-    }
-    
-    public List<UUID> getLikes() {
-        return likes;
-    }
-    
-    public void setLikes(List<UUID> likes) {
-        this.likes = likes;
-    }
-
-    public AuthorDto getAuthor() {
-        return author;
-    }
-
-    public void setAuthor(AuthorDto author) {
-        this.author = author;
-    }
-    
-    public String getSummary() {
-        return summary;
-    }
-    
-    public void setSummary(String summary) {
-        this.summary = summary;
-    }
-    
-    public String getExtractedText() {
-        return extractedText;
-    }
-    
-    public void setExtractedText(String extractedText) {
-        this.extractedText = extractedText;
-    }
-} 
\ No newline at end of file
+    public static PostDto fromPost(Post post) {
+        return fromPost(post, null);
+    }
+
+    /**
+     * @param post the post
+     * @param summary the summary of the post's document
+     * @return the DTO with the given summary and without extracted text
+     */
+    public static PostDto fromPost(Post post, String summary) {
+        return new PostDto(
+                post.getPostId(),
+                post.getUser().getUserId(),
+                post.getTitle(),
+                post.getDescription(),
+                post.getFileUrl(),
+                post.getFileKey(),
+                post.getFileType(),
+                post.getFileName(),
+                copyOf(post.getThumbnailWidths()),
+                new Category(post.getProgram(), post.getCourse(), post.getResourceType()),
+                post.getUser().getFirstname(),
+                post.getUser().getLastname(),
+                post.getCreatedAt(),
+                post.getUpdatedAt(),
+                copyOf(post.getLikes()),
+                AuthorDto.fromUser(post.getUser()),
+                summary,
+                null);
+    }
+
+    /**
+     * @param summary the summary of the post's document
+     * @return a copy of this DTO with the given summary
+     */
+    public PostDto withSummary(String summary) {
+        return new PostDto(id, userId, title, desc, fileUrl, fileKey, fileType, fileName, thumbnailWidths, category,
+                userFirstName, userLastName, createdAt, updatedAt, likes, author, summary, extractedText);
+    }
+
+    /**
+     * @param extractedText the text extracted from the post's document
+     * @return a copy of this DTO with the given extracted text
+     */
+    public PostDto withExtractedText(String extractedText) {
+        return new PostDto(id, userId, title, desc, fileUrl, fileKey, fileType, fileName, thumbnailWidths, category,
+                userFirstName, userLastName, createdAt, updatedAt, likes, author, summary, extractedText);
+    }
+
+    /**
+     * Copies an entity collection so the DTO neither changes with it nor touches the session when serialized
+     *
+     * @param values the values, possibly null
+     * @return an unmodifiable copy, empty for null
+     */
+    static <T> List<T> copyOf(List<T> values) {
+        return values == null || values.isEmpty()
+                ? List.of()
+                : Collections.unmodifiableList(new ArrayList<>(values));
+    }
+}
@@ -0,0 +1,15 @@
+package com.linkuni.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * A presigned URL of a post's thumbnail, or of the preview of one page of a document
+ *
+ * @param signedUrl the URL, usable without further authentication until it expires
+ * @param page the page shown, 1 for images
+ * @param pages the number of pages with previews, 1 for images
+ * @param width the width of the thumbnail, which may differ from the requested one
+ * @param expiresAt when the URL stops working
+ */
+public record ThumbnailUrlDto(String signedUrl, int page, int pages, int width, Instant expiresAt) {
+}
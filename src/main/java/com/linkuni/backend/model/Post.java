@@ -1,13 +1,20 @@
 package com.linkuni.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "posts")
 @Table(name = "posts")
 public class Post extends Auditable {
 
@@ -44,14 +51,31 @@ public class Post extends Auditable {
     @Column(name = "resource_type", nullable = false)
     private String resourceType;
 
+    // Widths of the generated WebP thumbnails, null until they have been generated
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "thumbnail_widths")
+    private List<Integer> thumbnailWidths;
+
+    // Number of document pages rendered at those widths; images have a single page
+    @Column(name = "thumbnail_pages")
+    private Integer thumbnailPages;
+
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "posts.likes")
+    // Listings read the likes of every post; uncached ones are loaded together, one query per batch
+    @BatchSize(size = 100)
     @CollectionTable(name = "post_likes", joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "user_id")
     private List<UUID> likes = new ArrayList<>();
 
-    @Column(name = "is_blacklisted")
+    @Column(name = "is_blacklisted", nullable = false)
     private Boolean isBlacklisted = false;
 
+    // Number of unresolved reports, maintained by set-based updates in PostReportRepository
+    @Column(name = "report_count", insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private Integer reportCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -139,6 +163,22 @@ public class Post extends Auditable {
         this.resourceType = resourceType;
     }
 
+    public List<Integer> getThumbnailWidths() {
+        return thumbnailWidths;
+    }
+
+    public void setThumbnailWidths(List<Integer> thumbnailWidths) {
+        this.thumbnailWidths = thumbnailWidths;
+    }
+
+    public Integer getThumbnailPages() {
+        return thumbnailPages;
+    }
+
+    public void setThumbnailPages(Integer thumbnailPages) {
+        this.thumbnailPages = thumbnailPages;
+    }
+
     public List<UUID> getLikes() {
         return likes;
     }
@@ -155,6 +195,14 @@ public class Post extends Auditable {
         this.isBlacklisted = isBlacklisted;
     }
 
+    public Integer getReportCount() {
+        return reportCount;
+    }
+
+    public void setReportCount(Integer reportCount) {
+        this.reportCount = reportCount;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,95 @@
+package com.linkuni.backend.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One report of a post by a user. The composite key makes repeated reports
+ * by the same user idempotent.
+ */
+@Entity
+@IdClass(PostReport.PostReportId.class)
+@Table(name = "post_reports", indexes = {
+        @Index(name = "idx_post_reports_reporter", columnList = "reporter_id"),
+        @Index(name = "idx_post_reports_unresolved_created", columnList = "resolved, created_at")
+})
+public class PostReport {
+
+    @Id
+    @Column(name = "post_id", updatable = false, nullable = false)
+    private UUID postId;
+
+    @Id
+    @Column(name = "reporter_id", updatable = false, nullable = false)
+    private UUID reporterId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "resolved", nullable = false)
+    private Boolean resolved = false;
+
+    public PostReport() {
+    }
+
+    public UUID getPostId() {
+        return postId;
+    }
+
+    public void setPostId(UUID postId) {
+        this.postId = postId;
+    }
+
+    public UUID getReporterId() {
+        return reporterId;
+    }
+
+    public void setReporterId(UUID reporterId) {
+        this.reporterId = reporterId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Boolean getResolved() {
+        return resolved;
+    }
+
+    public void setResolved(Boolean resolved) {
+        this.resolved = resolved;
+    }
+
+    public static class PostReportId implements Serializable {
+        private UUID postId;
+        private UUID reporterId;
+
+        public PostReportId() {
+        }
+
+        public PostReportId(UUID postId, UUID reporterId) {
+            this.postId = postId;
+            this.reporterId = reporterId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PostReportId that)) return false;
+            return Objects.equals(postId, that.postId) && Objects.equals(reporterId, that.reporterId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(postId, reporterId);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.linkuni.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Precomputed ranking row for a post. Scores are refreshed in bulk by
+ * {@link com.linkuni.backend.service.FeedService} so that feed pages can be
+ * read with an index range scan instead of being ranked per request.
+ */
+@Entity
+@Table(name = "post_scores", indexes = {
+        @Index(name = "idx_post_scores_program_score", columnList = "program, score DESC"),
+        @Index(name = "idx_post_scores_author_score", columnList = "author_id, score DESC"),
+        @Index(name = "idx_post_scores_score", columnList = "score DESC")
+})
+public class PostScore {
+
+    @Id
+    @Column(name = "post_id", updatable = false, nullable = false)
+    private UUID postId;
+
+    @Column(name = "program", nullable = false)
+    private String program;
+
+    @Column(name = "author_id", nullable = false)
+    private UUID authorId;
+
+    @Column(name = "like_count", nullable = false)
+    private Integer likeCount = 0;
+
+    @Column(name = "save_count", nullable = false)
+    private Integer saveCount = 0;
+
+    @Column(name = "download_count", nullable = false)
+    private Integer downloadCount = 0;
+
+    @Column(name = "score", nullable = false)
+    private Double score = 0.0;
+
+    @Column(name = "posted_at", nullable = false)
+    private LocalDateTime postedAt;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public PostScore() {
+    }
+
+    public UUID getPostId() {
+        return postId;
+    }
+
+    public void setPostId(UUID postId) {
+        this.postId = postId;
+    }
+
+    public String getProgram() {
+        return program;
+    }
+
+    public void setProgram(String program) {
+        this.program = program;
+    }
+
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(UUID authorId) {
+        this.authorId = authorId;
+    }
+
+    public Integer getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(Integer likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public Integer getSaveCount() {
+        return saveCount;
+    }
+
+    public void setSaveCount(Integer saveCount) {
+        this.saveCount = saveCount;
+    }
+
+    public Integer getDownloadCount() {
+        return downloadCount;
+    }
+
+    public void setDownloadCount(Integer downloadCount) {
+        this.downloadCount = downloadCount;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+
+    public void setPostedAt(LocalDateTime postedAt) {
+        this.postedAt = postedAt;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
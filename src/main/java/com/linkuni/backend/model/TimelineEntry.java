@@ -0,0 +1,96 @@
+package com.linkuni.backend.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A post materialized into a follower's home timeline when it was uploaded.
+ * Rows are written and trimmed with set-based statements by
+ * {@link com.linkuni.backend.service.TimelineService}.
+ */
+@Entity
+@IdClass(TimelineEntry.TimelineEntryId.class)
+@Table(name = "timeline_entries", indexes = {
+        @Index(name = "idx_timeline_entries_user_posted", columnList = "user_id, posted_at DESC"),
+        @Index(name = "idx_timeline_entries_post", columnList = "post_id")
+})
+public class TimelineEntry {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(name = "post_id", updatable = false, nullable = false)
+    private UUID postId;
+
+    @Column(name = "author_id", nullable = false)
+    private UUID authorId;
+
+    @Column(name = "posted_at", nullable = false)
+    private LocalDateTime postedAt;
+
+    public TimelineEntry() {
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getPostId() {
+        return postId;
+    }
+
+    public void setPostId(UUID postId) {
+        this.postId = postId;
+    }
+
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(UUID authorId) {
+        this.authorId = authorId;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+
+    public void setPostedAt(LocalDateTime postedAt) {
+        this.postedAt = postedAt;
+    }
+
+    public static class TimelineEntryId implements Serializable {
+        private UUID userId;
+        private UUID postId;
+
+        public TimelineEntryId() {
+        }
+
+        public TimelineEntryId(UUID userId, UUID postId) {
+            this.userId = userId;
+            this.postId = postId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TimelineEntryId that)) return false;
+            return Objects.equals(userId, that.userId) && Objects.equals(postId, that.postId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, postId);
+        }
+    }
+}
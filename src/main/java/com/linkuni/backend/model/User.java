@@ -1,6 +1,8 @@
 package com.linkuni.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.util.ArrayList;
@@ -8,6 +10,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 public class User extends Auditable {
 
@@ -42,15 +46,26 @@ public class User extends Auditable {
     private String shareSpaceProfileType;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.followers")
     @CollectionTable(name = "user_followers", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "follower_id")
     private List<UUID> followers = new ArrayList<>();
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.followings")
     @CollectionTable(name = "user_followings", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "following_id")
     private List<UUID> followings = new ArrayList<>();
 
+    // Maintained by set-based updates in UserRepository, never written from the entity
+    @Column(name = "post_count", insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private Integer postCount = 0;
+
+    @Column(name = "follower_count", insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private Integer followerCount = 0;
+
     @Column(name = "is_admin")
     private Boolean isAdmin = false;
 
@@ -58,11 +73,13 @@ public class User extends Auditable {
     private Boolean isOnboarded = false;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.posts")
     @CollectionTable(name = "user_posts", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "post_id")
     private List<UUID> posts = new ArrayList<>();
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.blacklistedPosts")
     @CollectionTable(name = "user_blacklisted_posts", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "blacklisted_post_id")
     private List<UUID> blacklistedPosts = new ArrayList<>();
@@ -74,6 +91,7 @@ public class User extends Auditable {
     private String yearOfGraduation;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.savedPosts")
     @CollectionTable(name = "user_saved_posts", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "saved_post_id")
     private List<UUID> savedPosts = new ArrayList<>();
@@ -169,6 +187,22 @@ public class User extends Auditable {
         this.followings = followings;
     }
 
+    public Integer getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(Integer postCount) {
+        this.postCount = postCount;
+    }
+
+    public Integer getFollowerCount() {
+        return followerCount;
+    }
+
+    public void setFollowerCount(Integer followerCount) {
+        this.followerCount = followerCount;
+    }
+
     public Boolean getIsAdmin() {
         return isAdmin;
     }
@@ -0,0 +1,114 @@
+package com.linkuni.backend.repository;
+
+import com.linkuni.backend.model.PostReport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PostReportRepository extends JpaRepository<PostReport, PostReport.PostReportId> {
+    
+    /**
+     * Row of the admin moderation queue
+     */
+    interface ModerationQueueRow {
+        UUID getPostId();
+        String getTitle();
+        UUID getAuthorId();
+        Integer getReportCount();
+        Boolean getHidden();
+        Long getRecentReports();
+        LocalDateTime getFirstReportedAt();
+        LocalDateTime getLastReportedAt();
+    }
+    
+    // Records the report and, only if it is new, bumps the post's counter and hides the post once
+    // the threshold is reached, all in one statement. Returns the post's hidden flag for a new
+    // report and nothing for a repeated one. Callers evict the post from the second-level cache.
+    @Query(value = "WITH inserted AS ("
+            + "INSERT INTO post_reports (post_id, reporter_id, created_at, resolved) "
+            + "VALUES (:postId, :reporterId, :now, false) ON CONFLICT DO NOTHING RETURNING post_id) "
+            + "UPDATE posts p SET report_count = p.report_count + 1, "
+            + "is_blacklisted = (p.is_blacklisted OR p.report_count + 1 >= :threshold) "
+            + "FROM inserted i WHERE p.post_id = i.post_id "
+            + "RETURNING p.is_blacklisted",
+            nativeQuery = true)
+    List<Boolean> report(@Param("postId") UUID postId,
+                         @Param("reporterId") UUID reporterId,
+                         @Param("now") LocalDateTime now,
+                         @Param("threshold") int threshold);
+    
+    // Velocity is the number of unresolved reports received since :since
+    @Query(value = "SELECT p.post_id AS \"postId\", p.title AS \"title\", p.user_id AS \"authorId\", "
+            + "p.report_count AS \"reportCount\", p.is_blacklisted AS \"hidden\", "
+            + "COUNT(*) FILTER (WHERE r.created_at >= :since) AS \"recentReports\", "
+            + "MIN(r.created_at) AS \"firstReportedAt\", MAX(r.created_at) AS \"lastReportedAt\" "
+            + "FROM post_reports r JOIN posts p ON p.post_id = r.post_id "
+            + "WHERE r.resolved = false "
+            + "GROUP BY p.post_id, p.title, p.user_id, p.report_count, p.is_blacklisted "
+            + "ORDER BY \"recentReports\" DESC, p.report_count DESC, \"lastReportedAt\" DESC, p.post_id",
+            countQuery = "SELECT COUNT(DISTINCT post_id) FROM post_reports WHERE resolved = false",
+            nativeQuery = true)
+    Page<ModerationQueueRow> findModerationQueue(@Param("since") LocalDateTime since, Pageable pageable);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_reports"))
+    @Query(value = "UPDATE post_reports SET resolved = true WHERE post_id = :postId AND resolved = false",
+            nativeQuery = true)
+    int resolveReports(@Param("postId") UUID postId);
+    
+    // Writes to posts are declared under a pseudo-space so that Hibernate does not evict
+    // the whole posts region; callers evict the single post instead
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_moderation"))
+    @Query(value = "UPDATE posts SET is_blacklisted = :hidden, report_count = 0 WHERE post_id = :postId",
+            nativeQuery = true)
+    int applyModerationDecision(@Param("postId") UUID postId, @Param("hidden") boolean hidden);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_moderation"))
+    @Query(value = "UPDATE posts SET report_count = report_count - 1 WHERE post_id IN "
+            + "(SELECT post_id FROM post_reports WHERE reporter_id = :userId AND resolved = false)",
+            nativeQuery = true)
+    int decrementReportCountsByReporter(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_reports"))
+    @Query(value = "DELETE FROM post_reports WHERE post_id = :postId", nativeQuery = true)
+    int deleteByPostId(@Param("postId") UUID postId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_reports"))
+    @Query(value = "DELETE FROM post_reports WHERE reporter_id = :userId "
+            + "OR post_id IN (SELECT post_id FROM posts WHERE user_id = :userId)", nativeQuery = true)
+    int deleteAllForUser(@Param("userId") UUID userId);
+    
+    // Reports recorded before post_reports existed only live in users' blacklisted post lists
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_reports"))
+    @Query(value = "INSERT INTO post_reports (post_id, reporter_id, created_at, resolved) "
+            + "SELECT b.blacklisted_post_id, b.user_id, :now, false FROM user_blacklisted_posts b "
+            + "JOIN posts p ON p.post_id = b.blacklisted_post_id "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int importLegacyReports(@Param("now") LocalDateTime now);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "posts"))
+    @Query(value = "UPDATE posts p SET report_count = c.report_count "
+            + "FROM (SELECT p2.post_id, "
+            + "(SELECT COUNT(*) FROM post_reports r WHERE r.post_id = p2.post_id AND r.resolved = false) AS report_count "
+            + "FROM posts p2) c "
+            + "WHERE c.post_id = p.post_id AND p.report_count <> c.report_count", nativeQuery = true)
+    int reconcileReportCounts();
+}
@@ -2,17 +2,115 @@ package com.linkuni.backend.repository;
 
 import com.linkuni.backend.model.Post;
 import com.linkuni.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, UUID> {
+public interface PostRepository extends JpaRepository<Post, UUID>, JpaSpecificationExecutor<Post>,
+        PostStreamRepository {
+    interface FacetCountRow {
+        String getFacet();
+        String getValue();
+        Long getPostCount();
+    }
+    
+    interface ThumbnailRow {
+        String getFileKey();
+        List<Integer> getThumbnailWidths();
+        Integer getThumbnailPages();
+    }
+    
     List<Post> findByUser(User user);
     List<Post> findByUser_UserId(UUID userId);
-    List<Post> findByProgram(String program);
-    List<Post> findByCourse(String course);
-    List<Post> findByResourceType(String resourceType);
-} 
\ No newline at end of file
+    
+    @Query("select p.fileKey from Post p where p.user.userId = :userId and p.fileKey is not null")
+    List<String> findFileKeysByUserId(@Param("userId") UUID userId);
+    
+    @Query("select p.fileKey as fileKey, p.thumbnailWidths as thumbnailWidths, "
+            + "p.thumbnailPages as thumbnailPages from Post p "
+            + "where p.user.userId = :userId and p.thumbnailWidths is not null")
+    List<ThumbnailRow> findThumbnailsByUserId(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_likes"))
+    @Query(value = "DELETE FROM post_likes WHERE post_id IN (SELECT post_id FROM posts WHERE user_id = :userId)",
+            nativeQuery = true)
+    int deleteLikesOnPostsOfUser(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_likes"))
+    @Query(value = "DELETE FROM post_likes WHERE user_id = :userId", nativeQuery = true)
+    int deleteLikesByUser(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "posts"))
+    @Query(value = "DELETE FROM posts WHERE user_id = :userId", nativeQuery = true)
+    int deleteAllByUserId(@Param("userId") UUID userId);
+    
+    // One pass over the visible posts matching the filter, counted per program, course,
+    // resource type and file type. A null parameter leaves that criterion out.
+    @Query(value = "SELECT CASE WHEN GROUPING(program) = 0 THEN 'program' "
+            + "WHEN GROUPING(course) = 0 THEN 'course' "
+            + "WHEN GROUPING(resource_type) = 0 THEN 'resourceType' "
+            + "ELSE 'fileType' END AS \"facet\", "
+            + "COALESCE(program, course, resource_type, file_type) AS \"value\", "
+            + "COUNT(*) AS \"postCount\" "
+            + "FROM posts "
+            + "WHERE is_blacklisted = false "
+            + "AND (CAST(:program AS text) IS NULL OR lower(program) = CAST(:program AS text)) "
+            + "AND (CAST(:course AS text) IS NULL OR lower(course) = CAST(:course AS text)) "
+            + "AND (CAST(:resourceType AS text) IS NULL OR lower(resource_type) = CAST(:resourceType AS text)) "
+            + "AND (CAST(:fileTypePattern AS text) IS NULL OR file_type LIKE CAST(:fileTypePattern AS text)) "
+            + "AND (CAST(:keywordPattern AS text) IS NULL OR lower(title) LIKE CAST(:keywordPattern AS text) "
+            + "OR lower(description) LIKE CAST(:keywordPattern AS text)) "
+            + "GROUP BY GROUPING SETS ((program), (course), (resource_type), (file_type)) "
+            + "ORDER BY 1, 3 DESC, 2",
+            nativeQuery = true)
+    List<FacetCountRow> countFacets(@Param("program") String program,
+                                    @Param("course") String course,
+                                    @Param("resourceType") String resourceType,
+                                    @Param("fileTypePattern") String fileTypePattern,
+                                    @Param("keywordPattern") String keywordPattern);
+    
+    // Version stamps for conditional GETs. Each hashes everything the matching response shows:
+    // the audit timestamps, the counters, and the element collections, which change without
+    // touching updated_at.
+    
+    @Query(value = "SELECT md5(CAST(ROW(p.updated_at, u.updated_at, u.post_count, u.follower_count, "
+            + "(SELECT md5(string_agg(CAST(l.user_id AS text), ',' ORDER BY l.user_id)) FROM post_likes l "
+            + "WHERE l.post_id = p.post_id), "
+            + "(SELECT s.id FROM summaries s WHERE s.post_id = p.post_id), "
+            + "(SELECT t.id FROM text_extracts t WHERE t.post_id = p.post_id)) AS text)) "
+            + "FROM posts p JOIN users u ON u.user_id = p.user_id WHERE p.post_id = :postId",
+            nativeQuery = true)
+    Optional<String> findPostVersion(@Param("postId") UUID postId);
+    
+    @Query(value = "SELECT md5(CAST(ROW(u.updated_at, u.post_count, u.follower_count, "
+            + "(SELECT string_agg(md5(CAST(ROW(p.post_id, p.updated_at, "
+            + "(SELECT md5(string_agg(CAST(l.user_id AS text), ',' ORDER BY l.user_id)) FROM post_likes l "
+            + "WHERE l.post_id = p.post_id), "
+            + "(SELECT s.id FROM summaries s WHERE s.post_id = p.post_id)) AS text)), ',' ORDER BY p.post_id) "
+            + "FROM posts p WHERE p.user_id = u.user_id AND p.is_blacklisted = false "
+            + "AND NOT EXISTS (SELECT 1 FROM post_reports r "
+            + "WHERE r.reporter_id = CAST(:viewerId AS uuid) AND r.post_id = p.post_id))) AS text)) "
+            + "FROM users u WHERE u.user_id = :userId",
+            nativeQuery = true)
+    Optional<String> findPostsByUserVersion(@Param("userId") UUID userId, @Param("viewerId") UUID viewerId);
+    
+    @Query(value = "SELECT md5(CAST(ROW(t.id, t.created_at, s.id, s.created_at) AS text)) "
+            + "FROM text_extracts t LEFT JOIN summaries s ON s.post_id = t.post_id "
+            + "WHERE t.post_id = :postId",
+            nativeQuery = true)
+    Optional<String> findExtractionVersion(@Param("postId") UUID postId);
+}
@@ -0,0 +1,163 @@
+package com.linkuni.backend.repository;
+
+import com.linkuni.backend.model.PostScore;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PostScoreRepository extends JpaRepository<PostScore, UUID> {
+
+    // Score = (1 + weighted engagement) / (age in hours + 2) ^ gravity. Download counts are
+    // accumulated on the score row itself, so they are preserved when the row is recomputed.
+    // Likes and saves are counted per post through their post_id indexes, so only the posts
+    // inside the horizon are read rather than the whole like and save tables.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "INSERT INTO post_scores (post_id, program, author_id, like_count, save_count, download_count, "
+            + "score, posted_at, refreshed_at) "
+            + "SELECT p.post_id, p.program, p.user_id, c.likes, c.saves, COALESCE(ps.download_count, 0), "
+            + "(1 + :likeWeight * c.likes + :saveWeight * c.saves "
+            + "+ :downloadWeight * COALESCE(ps.download_count, 0)) "
+            + "/ POWER(EXTRACT(EPOCH FROM (CAST(:now AS timestamp) - p.created_at)) / 3600.0 + 2, :gravity), "
+            + "p.created_at, :now "
+            + "FROM posts p "
+            + "CROSS JOIN LATERAL (SELECT "
+            + "(SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.post_id) AS likes, "
+            + "(SELECT COUNT(*) FROM user_saved_posts s WHERE s.saved_post_id = p.post_id) AS saves) c "
+            + "LEFT JOIN post_scores ps ON ps.post_id = p.post_id "
+            + "WHERE p.is_blacklisted = false AND p.created_at >= :since "
+            + "ON CONFLICT (post_id) DO UPDATE SET program = EXCLUDED.program, like_count = EXCLUDED.like_count, "
+            + "save_count = EXCLUDED.save_count, score = EXCLUDED.score, refreshed_at = EXCLUDED.refreshed_at",
+            nativeQuery = true)
+    int refreshScores(@Param("since") LocalDateTime since,
+                      @Param("now") LocalDateTime now,
+                      @Param("gravity") double gravity,
+                      @Param("likeWeight") double likeWeight,
+                      @Param("saveWeight") double saveWeight,
+                      @Param("downloadWeight") double downloadWeight);
+
+    // Scores every visible post that has no row yet, whatever its age, so that posts outside the
+    // refresh horizon still appear in the feed (ranked by their decayed score)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "INSERT INTO post_scores (post_id, program, author_id, like_count, save_count, download_count, "
+            + "score, posted_at, refreshed_at) "
+            + "SELECT p.post_id, p.program, p.user_id, c.likes, c.saves, 0, "
+            + "(1 + :likeWeight * c.likes + :saveWeight * c.saves) "
+            + "/ POWER(EXTRACT(EPOCH FROM (CAST(:now AS timestamp) - p.created_at)) / 3600.0 + 2, :gravity), "
+            + "p.created_at, :now "
+            + "FROM posts p "
+            + "CROSS JOIN LATERAL (SELECT "
+            + "(SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.post_id) AS likes, "
+            + "(SELECT COUNT(*) FROM user_saved_posts s WHERE s.saved_post_id = p.post_id) AS saves) c "
+            + "WHERE p.is_blacklisted = false "
+            + "AND NOT EXISTS (SELECT 1 FROM post_scores ps WHERE ps.post_id = p.post_id) "
+            + "ON CONFLICT (post_id) DO NOTHING",
+            nativeQuery = true)
+    int insertMissingPosts(@Param("now") LocalDateTime now,
+                           @Param("gravity") double gravity,
+                           @Param("likeWeight") double likeWeight,
+                           @Param("saveWeight") double saveWeight);
+
+    // Scores a single post the same way, e.g. one that moderation made visible again
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "INSERT INTO post_scores (post_id, program, author_id, like_count, save_count, download_count, "
+            + "score, posted_at, refreshed_at) "
+            + "SELECT p.post_id, p.program, p.user_id, c.likes, c.saves, 0, "
+            + "(1 + :likeWeight * c.likes + :saveWeight * c.saves) "
+            + "/ POWER(EXTRACT(EPOCH FROM (CAST(:now AS timestamp) - p.created_at)) / 3600.0 + 2, :gravity), "
+            + "p.created_at, :now "
+            + "FROM posts p "
+            + "CROSS JOIN LATERAL (SELECT "
+            + "(SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.post_id) AS likes, "
+            + "(SELECT COUNT(*) FROM user_saved_posts s WHERE s.saved_post_id = p.post_id) AS saves) c "
+            + "WHERE p.post_id = :postId AND p.is_blacklisted = false "
+            + "ON CONFLICT (post_id) DO NOTHING",
+            nativeQuery = true)
+    int insertPost(@Param("postId") UUID postId,
+                   @Param("now") LocalDateTime now,
+                   @Param("gravity") double gravity,
+                   @Param("likeWeight") double likeWeight,
+                   @Param("saveWeight") double saveWeight);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "DELETE FROM post_scores s WHERE NOT EXISTS "
+            + "(SELECT 1 FROM posts p WHERE p.post_id = s.post_id AND p.is_blacklisted = false)",
+            nativeQuery = true)
+    int deleteUnrankablePosts();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "INSERT INTO post_scores (post_id, program, author_id, like_count, save_count, download_count, "
+            + "score, posted_at, refreshed_at) "
+            + "SELECT p.post_id, p.program, p.user_id, 0, 0, 1, 0, p.created_at, :now FROM posts p "
+            + "WHERE p.post_id = :postId "
+            + "ON CONFLICT (post_id) DO UPDATE SET download_count = post_scores.download_count + 1",
+            nativeQuery = true)
+    int incrementDownloadCount(@Param("postId") UUID postId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "INSERT INTO post_scores (post_id, program, author_id, like_count, save_count, download_count, "
+            + "score, posted_at, refreshed_at) VALUES (:postId, :program, :authorId, 0, 0, 0, :score, :postedAt, :postedAt) "
+            + "ON CONFLICT (post_id) DO NOTHING",
+            nativeQuery = true)
+    int insertNewPost(@Param("postId") UUID postId,
+                      @Param("program") String program,
+                      @Param("authorId") UUID authorId,
+                      @Param("score") double score,
+                      @Param("postedAt") LocalDateTime postedAt);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "DELETE FROM post_scores WHERE post_id = :postId", nativeQuery = true)
+    int deleteByPostId(@Param("postId") UUID postId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_scores"))
+    @Query(value = "DELETE FROM post_scores WHERE author_id = :userId", nativeQuery = true)
+    int deleteAllByAuthorId(@Param("userId") UUID userId);
+
+    // Each branch is an index range scan on (program, score) or (author_id, score) bounded by
+    // the page window; only the union of the two windows is sorted. Posts the viewer reported
+    // are excluded inside each branch so that the window is not shortened after the fact.
+    @Query(value = "SELECT ranked.post_id FROM ("
+            + "(SELECT s.post_id, s.score FROM post_scores s WHERE s.program = :program "
+            + "AND NOT EXISTS (SELECT 1 FROM post_reports r "
+            + "WHERE r.reporter_id = :viewerId AND r.post_id = s.post_id) "
+            + "ORDER BY s.score DESC LIMIT :window) "
+            + "UNION "
+            + "(SELECT s.post_id, s.score FROM post_scores s "
+            + "JOIN user_followings f ON f.following_id = s.author_id WHERE f.user_id = :viewerId "
+            + "AND NOT EXISTS (SELECT 1 FROM post_reports r "
+            + "WHERE r.reporter_id = :viewerId AND r.post_id = s.post_id) "
+            + "ORDER BY s.score DESC LIMIT :window)"
+            + ") ranked ORDER BY ranked.score DESC, ranked.post_id LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<UUID> findFeedPostIds(@Param("program") String program,
+                               @Param("viewerId") UUID viewerId,
+                               @Param("window") int window,
+                               @Param("limit") int limit,
+                               @Param("offset") int offset);
+
+    @Query(value = "SELECT s.post_id FROM post_scores s "
+            + "WHERE NOT EXISTS (SELECT 1 FROM post_reports r "
+            + "WHERE r.reporter_id = :viewerId AND r.post_id = s.post_id) "
+            + "ORDER BY s.score DESC, s.post_id LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<UUID> findTopPostIds(@Param("viewerId") UUID viewerId,
+                              @Param("limit") int limit,
+                              @Param("offset") int offset);
+}
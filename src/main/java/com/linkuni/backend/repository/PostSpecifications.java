@@ -0,0 +1,120 @@
+package com.linkuni.backend.repository;
+
+import com.linkuni.backend.dto.PostFilterRequest;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.PostReport;
+import com.linkuni.backend.model.User;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+/**
+ * Reusable criteria for post listings, evaluated in SQL so that filtered-out
+ * posts are never loaded.
+ */
+public final class PostSpecifications {
+
+    private PostSpecifications() {
+    }
+
+    /**
+     * Posts that are not blacklisted and that the viewer has not reported.
+     * Matches the partial index on non-blacklisted posts.
+     *
+     * @param viewerId the ID of the viewing user, or null for anonymous viewers
+     * @return the specification
+     */
+    public static Specification<Post> visibleTo(UUID viewerId) {
+        return (root, query, cb) -> {
+            var notBlacklisted = cb.isFalse(root.get("isBlacklisted"));
+            if (viewerId == null) {
+                return notBlacklisted;
+            }
+
+            Subquery<UUID> reported = query.subquery(UUID.class);
+            Root<PostReport> report = reported.from(PostReport.class);
+            reported.select(report.get("postId")).where(cb.equal(report.get("reporterId"), viewerId));
+
+            return cb.and(notBlacklisted, cb.not(root.get("postId").in(reported)));
+        };
+    }
+
+    /**
+     * Posts visible to the viewer that match every criterion set in the filter request.
+     * Empty criteria are ignored.
+     *
+     * @param filterRequest the filter criteria
+     * @param viewerId the ID of the viewing user, or null for anonymous viewers
+     * @return the specification
+     */
+    public static Specification<Post> matching(PostFilterRequest filterRequest, UUID viewerId) {
+        Specification<Post> specification = visibleTo(viewerId);
+
+        if (hasText(filterRequest.getProgram())) {
+            specification = specification.and(attributeEqualsIgnoreCase("program", filterRequest.getProgram()));
+        }
+        if (hasText(filterRequest.getCourse())) {
+            specification = specification.and(attributeEqualsIgnoreCase("course", filterRequest.getCourse()));
+        }
+        if (hasText(filterRequest.getResourceType())) {
+            specification = specification.and(
+                    attributeEqualsIgnoreCase("resourceType", filterRequest.getResourceType()));
+        }
+        if (hasText(filterRequest.getFileType())) {
+            specification = specification.and(fileTypeContains(filterRequest.getFileType()));
+        }
+        if (hasText(filterRequest.getKeyword())) {
+            specification = specification.and(titleOrDescriptionContains(filterRequest.getKeyword()));
+        }
+        return specification;
+    }
+
+    public static Specification<Post> byUser(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("userId"), userId);
+    }
+
+    public static Specification<Post> savedBy(UUID userId) {
+        return (root, query, cb) -> {
+            Subquery<UUID> saved = query.subquery(UUID.class);
+            Root<User> owner = saved.from(User.class);
+            Join<User, UUID> savedPosts = owner.join("savedPosts");
+            saved.select(savedPosts).where(cb.equal(owner.get("userId"), userId));
+
+            return root.get("postId").in(saved);
+        };
+    }
+
+    public static Specification<Post> attributeEqualsIgnoreCase(String attribute, String value) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get(attribute)), value.toLowerCase());
+    }
+
+    public static Specification<Post> fileTypeContains(String fileType) {
+        return (root, query, cb) -> cb.like(root.get("fileType"), containsPattern(fileType), '\\');
+    }
+
+    public static Specification<Post> titleOrDescriptionContains(String keyword) {
+        return (root, query, cb) -> {
+            String pattern = containsPattern(keyword.toLowerCase());
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("description")), pattern, '\\'));
+        };
+    }
+
+    /**
+     * LIKE pattern matching values that contain the given text literally, escaped with backslashes
+     *
+     * @param value the text to look for
+     * @return the pattern
+     */
+    public static String containsPattern(String value) {
+        return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,23 @@
+package com.linkuni.backend.repository;
+
+import com.linkuni.backend.model.Post;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/**
+ * Cursor-based reads of posts for listings that are written out as they are read
+ */
+public interface PostStreamRepository {
+
+    /**
+     * Streams the posts matching a specification from a database cursor, with their authors.
+     * Must be called and consumed within a transaction, and the stream must be closed.
+     *
+     * @param specification the criteria
+     * @param sort the order of the posts
+     * @return the posts, fetched from the database a batch at a time
+     */
+    Stream<Post> streamAll(Specification<Post> specification, Sort sort);
+}
@@ -0,0 +1,47 @@
+package com.linkuni.backend.repository;
+
+import com.linkuni.backend.model.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.stream.Stream;
+
+class PostStreamRepositoryImpl implements PostStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows per round trip; PostgreSQL only uses a cursor inside a transaction and with a fetch size
+    @Value("${app.streaming.fetch-size:200}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Post> streamAll(Specification<Post> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Post> query = cb.createQuery(Post.class);
+        Root<Post> root = query.from(Post.class);
+        // Every listed post shows its author; fetching them here avoids a query per author
+        root.fetch("user", JoinType.INNER);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
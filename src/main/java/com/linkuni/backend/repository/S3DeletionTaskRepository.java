@@ -0,0 +1,24 @@
+package com.linkuni.backend.repository;
+
+import com.linkuni.backend.model.S3DeletionTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface S3DeletionTaskRepository extends JpaRepository<S3DeletionTask, UUID> {
+    
+    // SKIP LOCKED lets several application instances drain the outbox concurrently
+    @Query(value = "SELECT * FROM s3_deletion_outbox WHERE next_attempt_at <= :now AND attempts < :maxAttempts "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<S3DeletionTask> lockDueTasks(@Param("now") LocalDateTime now,
+                                      @Param("maxAttempts") int maxAttempts,
+                                      @Param("limit") int limit);
+    
+    long countByAttemptsGreaterThanEqual(int attempts);
+}
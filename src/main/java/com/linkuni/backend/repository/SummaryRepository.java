@@ -2,14 +2,33 @@ package com.linkuni.backend.repository;
 
 import com.linkuni.backend.model.Post;
 import com.linkuni.backend.model.Summary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface SummaryRepository extends JpaRepository<Summary, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Summary> findByPost(Post post);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Summary> findByPost_PostId(UUID postId);
-} 
\ No newline at end of file
+    
+    List<Summary> findByPost_PostIdIn(Collection<UUID> postIds);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "summaries"))
+    @Query(value = "DELETE FROM summaries WHERE post_id IN (SELECT post_id FROM posts WHERE user_id = :userId)",
+            nativeQuery = true)
+    int deleteAllByPostOwner(@Param("userId") UUID userId);
+}
@@ -2,7 +2,13 @@ package com.linkuni.backend.repository;
 
 import com.linkuni.backend.model.Post;
 import com.linkuni.backend.model.TextExtract;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +18,14 @@ import java.util.UUID;
 public interface TextExtractRepository extends JpaRepository<TextExtract, UUID> {
     Optional<TextExtract> findByPost(Post post);
     Optional<TextExtract> findByPost_PostId(UUID postId);
-} 
\ No newline at end of file
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "text_extracts"))
+    @Query(value = "DELETE FROM text_extracts WHERE post_id IN (SELECT post_id FROM posts WHERE user_id = :userId)",
+            nativeQuery = true)
+    int deleteAllByPostOwner(@Param("userId") UUID userId);
+    
+    @Modifying
+    @Query("delete from TextExtract e where e.post.postId = :postId")
+    int deleteAllByPostId(@Param("postId") UUID postId);
+}
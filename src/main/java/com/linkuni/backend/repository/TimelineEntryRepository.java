@@ -0,0 +1,95 @@
+package com.linkuni.backend.repository;
+
+import com.linkuni.backend.model.TimelineEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, TimelineEntry.TimelineEntryId> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entries"))
+    @Query(value = "INSERT INTO timeline_entries (user_id, post_id, author_id, posted_at) "
+            + "SELECT f.follower_id, :postId, :authorId, :postedAt FROM user_followers f WHERE f.user_id = :authorId "
+            + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int fanOutToFollowers(@Param("postId") UUID postId,
+                          @Param("authorId") UUID authorId,
+                          @Param("postedAt") LocalDateTime postedAt);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entries"))
+    @Query(value = "INSERT INTO timeline_entries (user_id, post_id, author_id, posted_at) "
+            + "SELECT :followerId, p.post_id, p.user_id, p.created_at FROM posts p WHERE p.user_id = :authorId "
+            + "ORDER BY p.created_at DESC LIMIT :limit "
+            + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int backfillFromAuthor(@Param("followerId") UUID followerId,
+                           @Param("authorId") UUID authorId,
+                           @Param("limit") int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entries"))
+    @Query(value = "DELETE FROM timeline_entries WHERE user_id = :followerId AND author_id = :authorId",
+            nativeQuery = true)
+    int deleteByFollowerAndAuthor(@Param("followerId") UUID followerId, @Param("authorId") UUID authorId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entries"))
+    @Query(value = "DELETE FROM timeline_entries WHERE post_id = :postId", nativeQuery = true)
+    int deleteByPostId(@Param("postId") UUID postId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entries"))
+    @Query(value = "DELETE FROM timeline_entries WHERE user_id = :userId "
+            + "OR post_id IN (SELECT post_id FROM posts WHERE user_id = :userId)",
+            nativeQuery = true)
+    int deleteAllForUser(@Param("userId") UUID userId);
+
+    // Keeps each timeline a capped ring buffer of its newest entries
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entries"))
+    @Query(value = "DELETE FROM timeline_entries t USING ("
+            + "SELECT user_id, post_id FROM (SELECT user_id, post_id, "
+            + "ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY posted_at DESC) AS position "
+            + "FROM timeline_entries) ranked WHERE ranked.position > :maxEntries"
+            + ") overflow WHERE t.user_id = overflow.user_id AND t.post_id = overflow.post_id",
+            nativeQuery = true)
+    int trimTimelines(@Param("maxEntries") int maxEntries);
+
+    // Materialized entries plus, read on demand, the recent posts of followed accounts that are
+    // too large to fan out. Each branch reads at most one page window from its index, skipping
+    // blacklisted posts and posts the viewer reported.
+    @Query(value = "SELECT merged.post_id FROM ("
+            + "(SELECT t.post_id, t.posted_at FROM timeline_entries t "
+            + "JOIN posts p ON p.post_id = t.post_id AND p.is_blacklisted = false "
+            + "WHERE t.user_id = :viewerId "
+            + "AND NOT EXISTS (SELECT 1 FROM post_reports r "
+            + "WHERE r.reporter_id = :viewerId AND r.post_id = t.post_id) "
+            + "ORDER BY t.posted_at DESC LIMIT :window) "
+            + "UNION "
+            + "(SELECT p.post_id, p.created_at AS posted_at FROM posts p "
+            + "JOIN user_followings f ON f.following_id = p.user_id "
+            + "JOIN users u ON u.user_id = p.user_id "
+            + "WHERE f.user_id = :viewerId AND u.follower_count > :fanOutLimit AND p.is_blacklisted = false "
+            + "AND NOT EXISTS (SELECT 1 FROM post_reports r "
+            + "WHERE r.reporter_id = :viewerId AND r.post_id = p.post_id) "
+            + "ORDER BY p.created_at DESC LIMIT :window)"
+            + ") merged ORDER BY merged.posted_at DESC, merged.post_id LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<UUID> findTimelinePostIds(@Param("viewerId") UUID viewerId,
+                                   @Param("fanOutLimit") int fanOutLimit,
+                                   @Param("window") int window,
+                                   @Param("limit") int limit,
+                                   @Param("offset") int offset);
+}
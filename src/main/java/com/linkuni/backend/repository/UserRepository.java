@@ -1,7 +1,13 @@
 package com.linkuni.backend.repository;
 
 import com.linkuni.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +21,85 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
     List<User> findBySavedPostsContaining(UUID postId);
-} 
\ No newline at end of file
+    
+    // Materialized counters. The counter columns are never written by Hibernate, so these updates declare
+    // their own query space instead of "users" and callers evict the affected entries explicitly.
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_counters"))
+    @Query(value = "UPDATE users SET post_count = post_count + :delta WHERE user_id = :userId", nativeQuery = true)
+    int adjustPostCount(@Param("userId") UUID userId, @Param("delta") int delta);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_counters"))
+    @Query(value = "UPDATE users SET follower_count = follower_count + :delta WHERE user_id = :userId", nativeQuery = true)
+    int adjustFollowerCount(@Param("userId") UUID userId, @Param("delta") int delta);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_counters"))
+    @Query(value = "UPDATE users SET follower_count = follower_count - 1 "
+            + "WHERE user_id IN (SELECT user_id FROM user_followers WHERE follower_id = :followerId)", nativeQuery = true)
+    int decrementFollowerCountsFollowedBy(@Param("followerId") UUID followerId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users u SET post_count = c.post_count, follower_count = c.follower_count "
+            + "FROM (SELECT u2.user_id, "
+            + "(SELECT count(*) FROM posts p WHERE p.user_id = u2.user_id) AS post_count, "
+            + "(SELECT count(*) FROM user_followers f WHERE f.user_id = u2.user_id) AS follower_count "
+            + "FROM users u2) c "
+            + "WHERE c.user_id = u.user_id "
+            + "AND (u.post_count <> c.post_count OR u.follower_count <> c.follower_count)", nativeQuery = true)
+    int reconcileCounters();
+    
+    // Bulk cleanup used when a user account is deleted. Each statement declares the table it modifies so
+    // that Hibernate only invalidates the matching second-level cache regions.
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_followers"))
+    @Query(value = "DELETE FROM user_followers WHERE user_id = :userId OR follower_id = :userId", nativeQuery = true)
+    int deleteFollowerEntries(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_followings"))
+    @Query(value = "DELETE FROM user_followings WHERE user_id = :userId OR following_id = :userId", nativeQuery = true)
+    int deleteFollowingEntries(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_saved_posts"))
+    @Query(value = "DELETE FROM user_saved_posts WHERE user_id = :userId "
+            + "OR saved_post_id IN (SELECT post_id FROM posts WHERE user_id = :userId)", nativeQuery = true)
+    int deleteSavedPostEntries(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_blacklisted_posts"))
+    @Query(value = "DELETE FROM user_blacklisted_posts WHERE user_id = :userId "
+            + "OR blacklisted_post_id IN (SELECT post_id FROM posts WHERE user_id = :userId)", nativeQuery = true)
+    int deleteBlacklistedPostEntries(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_posts"))
+    @Query(value = "DELETE FROM user_posts WHERE user_id = :userId", nativeQuery = true)
+    int deletePostEntries(@Param("userId") UUID userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "DELETE FROM users WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") UUID userId);
+    
+    // Version stamp for conditional GETs of a profile; see PostRepository#findPostVersion
+    @Query(value = "SELECT md5(CAST(ROW(u.updated_at, u.post_count, u.follower_count, "
+            + "(SELECT md5(string_agg(CAST(f.follower_id AS text), ',' ORDER BY f.follower_id)) "
+            + "FROM user_followers f WHERE f.user_id = u.user_id), "
+            + "(SELECT md5(string_agg(CAST(f.following_id AS text), ',' ORDER BY f.following_id)) "
+            + "FROM user_followings f WHERE f.user_id = u.user_id), "
+            + "(SELECT md5(string_agg(CAST(p.post_id AS text), ',' ORDER BY p.post_id)) "
+            + "FROM user_posts p WHERE p.user_id = u.user_id), "
+            + "(SELECT md5(string_agg(CAST(s.saved_post_id AS text), ',' ORDER BY s.saved_post_id)) "
+            + "FROM user_saved_posts s WHERE s.user_id = u.user_id), "
+            + "(SELECT md5(string_agg(CAST(b.blacklisted_post_id AS text), ',' ORDER BY b.blacklisted_post_id)) "
+            + "FROM user_blacklisted_posts b WHERE b.user_id = u.user_id)) AS text)) "
+            + "FROM users u WHERE u.user_id = :userId",
+            nativeQuery = true)
+    Optional<String> findUserVersion(@Param("userId") UUID userId);
+}
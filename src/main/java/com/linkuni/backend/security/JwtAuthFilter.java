@@ -48,6 +48,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             if (token != null && jwtUtils.validateToken(token)) {
                 UUID userId = jwtUtils.getUserIdFromToken(token);
                 
+                // Tokens carry the user ID rather than the email, so this is a lookup by primary
+                // key, served from the "users" second-level cache region after the first request
                 Optional<User> userOptional = userRepository.findById(userId);
                 
                 if (userOptional.isPresent()) {
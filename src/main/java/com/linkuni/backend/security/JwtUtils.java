@@ -3,6 +3,8 @@ package com.linkuni.backend.security;
 import com.linkuni.backend.dto.SignupRequest;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,6 +34,12 @@ public class JwtUtils {
     
     @Value("${app.jwt.reset-expiration:900000}") // 15 minutes in milliseconds
     private long resetExpiration;
+    
+    private final MeterRegistry meterRegistry;
+    
+    public JwtUtils(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     private Key getSigningKey() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
@@ -120,18 +128,32 @@ public class JwtUtils {
     public boolean validateToken(String token) {
         try {
             Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
+            countValidation("valid");
             return true;
         } catch (SignatureException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            countValidation("invalid_signature");
+            logger.debug("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            countValidation("malformed");
+            logger.debug("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            countValidation("expired");
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            countValidation("unsupported");
+            logger.debug("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            countValidation("empty");
+            logger.debug("JWT claims string is empty: {}", e.getMessage());
         }
         return false;
     }
+    
+    private void countValidation(String outcome) {
+        Counter.builder("auth.jwt.validations")
+                .description("JWT validations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
 } 
\ No newline at end of file
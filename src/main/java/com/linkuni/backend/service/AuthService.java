@@ -120,7 +120,7 @@ public class AuthService {
     }
     
     public ApiResponse login(LoginRequest loginRequest) {
-        logger.info("Login attempt for email: {}", loginRequest.getEmail());
+        logger.debug("Login attempt for email: {}", loginRequest.getEmail());
         
         // Check if email is in valid domain (if configured)
         if (validDomain != null && !validDomain.isEmpty() && !validDomain.equals("example.com")) {
@@ -165,7 +165,7 @@ public class AuthService {
     }
     
     public ApiResponse googleAuth(GoogleAuthRequest request) {
-        logger.info("Google authentication attempt for email: {}", request.getEmail());
+        logger.debug("Google authentication attempt for email: {}", request.getEmail());
         
         // Verify email domain if configured
         if (validDomain != null && !validDomain.isEmpty() && !validDomain.equals("example.com")) {
@@ -185,7 +185,7 @@ public class AuthService {
         if (existingUserOptional.isPresent()) {
             // User exists, login flow
             user = existingUserOptional.get();
-            logger.info("Existing user found with email: {}", request.getEmail());
+            logger.debug("Existing user found with email: {}", request.getEmail());
         } else {
             // User doesn't exist, signup flow
             isNewUser = true;
@@ -283,7 +283,7 @@ public class AuthService {
     }
     
     public ApiResponse resetPassword(String token, ResetPasswordRequest request) {
-        logger.info("Password reset attempt with token");
+        logger.debug("Password reset attempt with token");
         
         // Validate token
         if (!jwtUtils.validateToken(token) || !jwtUtils.isPasswordResetToken(token)) {
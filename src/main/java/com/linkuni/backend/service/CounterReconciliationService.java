@@ -0,0 +1,49 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.repository.PostReportRepository;
+import com.linkuni.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Periodically recomputes the materialized counters (users.post_count, users.follower_count,
+ * posts.report_count) from the source tables, correcting any drift left by failed or concurrent writes.
+ */
+@Service
+public class CounterReconciliationService {
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciliationService.class);
+    
+    private final UserRepository userRepository;
+    private final PostReportRepository postReportRepository;
+    
+    public CounterReconciliationService(UserRepository userRepository, PostReportRepository postReportRepository) {
+        this.userRepository = userRepository;
+        this.postReportRepository = postReportRepository;
+    }
+    
+    /**
+     * Recomputes all user and post counters, one set-based statement per table.
+     * Also runs at startup so that counters added to an existing database are backfilled.
+     * 
+     * @return the number of users and posts whose counters were corrected
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.counters.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcileUserCounters() {
+        int corrected = userRepository.reconcileCounters() + postReportRepository.reconcileReportCounts();
+        
+        if (corrected > 0) {
+            logger.warn("Counter reconciliation corrected {} rows", corrected);
+        } else {
+            logger.info("Counter reconciliation found no drift");
+        }
+        
+        return corrected;
+    }
+}
@@ -0,0 +1,113 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.Summary;
+import com.linkuni.backend.model.TextExtract;
+import com.linkuni.backend.repository.PostRepository;
+import com.linkuni.backend.repository.SummaryRepository;
+import com.linkuni.backend.repository.TextExtractRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Extracts text from uploaded documents and stores the text and summary.
+ * Runs on the async executor once the post is committed; the call to the extractor happens
+ * before any database work, so no connection is held while waiting for it.
+ */
+@Service
+public class DocumentProcessingService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentProcessingService.class);
+
+    private final ExtractTextService extractTextService;
+    private final PostRepository postRepository;
+    private final SummaryRepository summaryRepository;
+    private final TextExtractRepository textExtractRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObservationRegistry observationRegistry;
+
+    public DocumentProcessingService(ExtractTextService extractTextService,
+                                     PostRepository postRepository,
+                                     SummaryRepository summaryRepository,
+                                     TextExtractRepository textExtractRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ObservationRegistry observationRegistry) {
+        this.extractTextService = extractTextService;
+        this.postRepository = postRepository;
+        this.summaryRepository = summaryRepository;
+        this.textExtractRepository = textExtractRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Process document text extraction and summarization asynchronously
+     *
+     * @param postId the ID of the saved post
+     * @param content a copy of the uploaded file, staged before the request completes and
+     *                deleted by this task
+     * @param fileName the original name of the uploaded file
+     */
+    @Async
+    public void processDocumentAsync(UUID postId, Path content, String fileName) {
+        // A child of the upload's trace, whose context the task decorator carries over
+        Observation.createNotStarted("document.processing", observationRegistry)
+                .contextualName("process document")
+                .highCardinalityKeyValue("post.id", postId.toString())
+                .observe(() -> processDocument(postId, content, fileName));
+    }
+
+    private void processDocument(UUID postId, Path content, String fileName) {
+        logger.debug("Starting asynchronous text extraction for post: {}", postId);
+        try {
+            Map<String, Object> extractionResult = extractTextService.extractText(content, fileName);
+
+            if (extractionResult == null) {
+                logger.warn("Extraction result was null for post: {}", postId);
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> saveExtraction(postId, extractionResult));
+        } catch (Exception e) {
+            logger.error("Error processing document for post {}: {}", postId, e.getMessage(), e);
+        } finally {
+            StagedFiles.delete(content);
+        }
+    }
+
+    private void saveExtraction(UUID postId, Map<String, Object> extractionResult) {
+        if (!postRepository.existsById(postId)) {
+            logger.info("Post {} was deleted during text extraction, discarding the result", postId);
+            return;
+        }
+        Post post = postRepository.getReferenceById(postId);
+
+        // Save summary
+        Object summaryObj = extractionResult.get("summary");
+        if (summaryObj != null) {
+            Summary summary = Summary.builder()
+                    .post(post)
+                    .summaryText(summaryObj.toString())
+                    .build();
+            summaryRepository.save(summary);
+            logger.debug("Summary saved for post: {}", postId);
+        }
+
+        // Save text extraction
+        TextExtract textExtract = TextExtract.builder()
+                .post(post)
+                .build();
+        textExtract.setTextFromMap(extractionResult);
+        textExtractRepository.save(textExtract);
+        logger.info("Text extraction saved for post: {}", postId);
+    }
+}
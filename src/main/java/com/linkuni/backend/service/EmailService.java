@@ -1,5 +1,7 @@
 package com.linkuni.backend.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
@@ -17,6 +19,7 @@ public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
     
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -30,14 +33,15 @@ public class EmailService {
     @Value("${app.frontend-url:http://localhost:3000}")
     private String frontendUrl;
     
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, MeterRegistry meterRegistry) {
         this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
         logger.info("EmailService initialized");
     }
 
     @Async
     public void sendActivationEmail(String to, String activationToken) {
-        logger.info("Preparing to send activation email to: {}", to);
+        logger.debug("Preparing to send activation email to: {}", to);
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
@@ -63,9 +67,9 @@ public class EmailService {
             helper.setText(htmlMsg, true);
             logger.debug("Email content prepared");
             
-            logger.info("Email configuration - Host: {}, Port: {}, Username: {}", mailHost, mailPort, fromEmail);
-            logger.info("Attempting to send email now...");
-            mailSender.send(mimeMessage);
+            logger.debug("Email configuration - Host: {}, Port: {}, Username: {}", mailHost, mailPort, fromEmail);
+            logger.debug("Attempting to send email now...");
+            send(mimeMessage, "activation");
             logger.info("Activation email successfully sent to: {}", to);
         } catch (MessagingException e) {
             logger.error("MessagingException: Failed to create email: {}", e.getMessage(), e);
@@ -81,7 +85,7 @@ public class EmailService {
     
     @Async
     public void sendPasswordResetEmail(String to, String firstName, String resetToken) {
-        logger.info("Preparing to send password reset email to: {}", to);
+        logger.debug("Preparing to send password reset email to: {}", to);
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
@@ -109,8 +113,8 @@ public class EmailService {
             helper.setText(htmlMsg, true);
             logger.debug("Password reset email content prepared");
             
-            logger.info("Attempting to send password reset email now...");
-            mailSender.send(mimeMessage);
+            logger.debug("Attempting to send password reset email now...");
+            send(mimeMessage, "password_reset");
             logger.info("Password reset email successfully sent to: {}", to);
         } catch (MessagingException e) {
             logger.error("MessagingException: Failed to create password reset email: {}", e.getMessage(), e);
@@ -123,4 +127,25 @@ public class EmailService {
             throw new RuntimeException("Failed to send password reset email - unexpected error", e);
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Sends a message and records the time taken under the email.send timer
+     * 
+     * @param mimeMessage the message to send
+     * @param type the kind of email, used as the type tag
+     */
+    private void send(MimeMessage mimeMessage, String type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        try {
+            mailSender.send(mimeMessage);
+            outcome = "SUCCESS";
+        } finally {
+            sample.stop(Timer.builder("email.send")
+                    .description("Time taken to hand emails to the mail server")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
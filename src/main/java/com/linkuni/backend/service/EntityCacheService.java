@@ -0,0 +1,72 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Explicit second-level cache invalidation for writes that bypass Hibernate's entity lifecycle,
+ * such as the set-based counter updates in UserRepository and PostReportRepository.
+ * Entries are evicted immediately and again after commit, so that a concurrent reader
+ * cannot re-populate the cache with the pre-commit state.
+ */
+@Service
+public class EntityCacheService {
+    
+    private final Cache cache;
+    
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache();
+    }
+    
+    /**
+     * Evicts a single user entry
+     * 
+     * @param userId the ID of the user whose cached state changed
+     */
+    public void evictUser(UUID userId) {
+        evict(() -> cache.evict(User.class, userId));
+    }
+    
+    /**
+     * Evicts a single post entry
+     * 
+     * @param postId the ID of the post whose cached state changed
+     */
+    public void evictPost(UUID postId) {
+        evict(() -> cache.evict(Post.class, postId));
+    }
+    
+    /**
+     * Evicts every cached post entry, for writes that touch an unknown set of posts
+     */
+    public void evictAllPosts() {
+        evict(() -> cache.evict(Post.class));
+    }
+    
+    /**
+     * Evicts every cached user entry, for writes that touch an unknown set of users
+     */
+    public void evictAllUsers() {
+        evict(() -> cache.evict(User.class));
+    }
+    
+    private void evict(Runnable eviction) {
+        eviction.run();
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
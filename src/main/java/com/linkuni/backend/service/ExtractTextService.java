@@ -1,19 +1,20 @@
 package com.linkuni.backend.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
 
@@ -25,14 +26,18 @@ public class ExtractTextService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExtractTextService.class);
     private final RestTemplate restTemplate;
+    private final ObservationRegistry observationRegistry;
     
     @Value("${app.flask.base-url:http://127.0.0.1:5000}")
     private String flaskBaseUrl;
     
     private final String extractTextEndpoint = "/api/v1/extract-text";
 
-    public ExtractTextService() {
-        this.restTemplate = new RestTemplateBuilder()
+    // The auto-configured builder records the calls as http.client.requests and passes the
+    // trace context to the Flask API in the traceparent header
+    public ExtractTextService(RestTemplateBuilder restTemplateBuilder, ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.restTemplate = restTemplateBuilder
                 .setConnectTimeout(Duration.ofSeconds(10))
                 .setReadTimeout(Duration.ofSeconds(30)) // Longer timeout for text extraction
                 .build();
@@ -42,22 +47,27 @@ public class ExtractTextService {
     /**
      * Extract text from a PDF file
      *
-     * @param file The PDF file to extract text from
+     * @param content The PDF file, streamed to the API from disk
+     * @param fileName The original name of the file
      * @return Map containing the extracted text and summary
      */
-    public Map<String, Object> extractText(MultipartFile file) {
-        logger.info("Extracting text from file: {}", file.getOriginalFilename());
+    public Map<String, Object> extractText(Path content, String fileName) {
+        logger.debug("Extracting text from file: {}", fileName);
         
-        try {
+        Observation observation = Observation.createNotStarted("extractor.requests", observationRegistry)
+                .contextualName("extract text")
+                .highCardinalityKeyValue("file.name", String.valueOf(fileName))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
             // Create multipart request
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.MULTIPART_FORM_DATA);
             
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            ByteArrayResource fileResource = new ByteArrayResource(file.getBytes()) {
+            FileSystemResource fileResource = new FileSystemResource(content) {
                 @Override
                 public String getFilename() {
-                    return file.getOriginalFilename();
+                    return fileName;
                 }
             };
             
@@ -73,15 +83,16 @@ public class ExtractTextService {
                     Map.class
             );
             
-            logger.info("Text extraction completed successfully for file: {}", file.getOriginalFilename());
+            observation.lowCardinalityKeyValue("outcome", "SUCCESS");
+            logger.debug("Text extraction completed successfully for file: {}", fileName);
             return responseEntity.getBody();
             
-        } catch (IOException e) {
-            logger.error("Error reading file bytes: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to read file content: " + e.getMessage(), e);
         } catch (RestClientException e) {
+            observation.lowCardinalityKeyValue("outcome", "ERROR").error(e);
             logger.error("Error calling Flask API: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to extract text from PDF: " + e.getMessage(), e);
+        } finally {
+            observation.stop();
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.linkuni.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.dto.PostFilterRequest;
+import com.linkuni.backend.repository.PostRepository;
+import com.linkuni.backend.repository.PostSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-value post counts for the filter drop-downs (program, course, resource type and file type),
+ * computed for the current filter with a single GROUPING SETS query. Counts cover every visible
+ * post rather than being tailored to the viewer, so one cached result serves all users.
+ * The cache is cleared by {@link PostService} and {@link ModerationService} whenever posts are
+ * added, changed, removed, hidden or restored.
+ */
+@Service
+public class FacetService {
+    private static final Logger logger = LoggerFactory.getLogger(FacetService.class);
+
+    private static final String[] FACETS = {"program", "course", "resourceType", "fileType"};
+
+    // Normalized filter criteria; null means the criterion is not applied
+    private record FacetKey(String program, String course, String resourceType, String fileType, String keyword) {
+    }
+
+    private final PostRepository postRepository;
+    private final Cache<FacetKey, Map<String, Map<String, Long>>> cache;
+
+    public FacetService(PostRepository postRepository,
+                        @Value("${app.facets.cache-max-entries:1000}") long cacheMaxEntries,
+                        @Value("${app.facets.cache-ttl-seconds:300}") long cacheTtlSeconds) {
+        this.postRepository = postRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Counts the visible posts matching the filter per program, course, resource type and file type
+     *
+     * @param filterRequest the current filter criteria; sort and semester are ignored
+     * @return ApiResponse with a map from facet name to value counts, most frequent first
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse getFacets(PostFilterRequest filterRequest) {
+        FacetKey key = new FacetKey(
+                normalize(filterRequest.getProgram(), true),
+                normalize(filterRequest.getCourse(), true),
+                normalize(filterRequest.getResourceType(), true),
+                normalize(filterRequest.getFileType(), false),
+                normalize(filterRequest.getKeyword(), true));
+
+        try {
+            Map<String, Map<String, Long>> facets = cache.get(key, this::countFacets);
+            return ApiResponse.success("Facets retrieved successfully", facets);
+        } catch (Exception e) {
+            logger.error("Error computing facets: {}", e.getMessage(), e);
+            return ApiResponse.error("Error computing facets: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clears all cached counts, immediately and again after the current transaction commits,
+     * so that a concurrent request cannot re-populate the cache with the pre-commit state
+     */
+    public void invalidate() {
+        cache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    private Map<String, Map<String, Long>> countFacets(FacetKey key) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            facets.put(facet, new LinkedHashMap<>());
+        }
+
+        for (PostRepository.FacetCountRow row : postRepository.countFacets(
+                key.program(),
+                key.course(),
+                key.resourceType(),
+                key.fileType() != null ? PostSpecifications.containsPattern(key.fileType()) : null,
+                key.keyword() != null ? PostSpecifications.containsPattern(key.keyword()) : null)) {
+            facets.get(row.getFacet()).put(row.getValue(), row.getPostCount());
+        }
+
+        facets.replaceAll((facet, counts) -> Collections.unmodifiableMap(counts));
+        logger.debug("Computed facets for {}", key);
+        return Collections.unmodifiableMap(facets);
+    }
+
+    private static String normalize(String value, boolean caseInsensitive) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return caseInsensitive ? value.toLowerCase(Locale.ROOT) : value;
+    }
+}
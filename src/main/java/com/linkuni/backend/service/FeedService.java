@@ -0,0 +1,165 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.dto.PostDto;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.repository.PostScoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked homepage feed. Post scores (time-decayed likes, saves and downloads) are
+ * precomputed into the post_scores table on a schedule, so serving a page is an
+ * index range scan scoped to the viewer's program and followings.
+ */
+@Service
+public class FeedService {
+    private static final Logger logger = LoggerFactory.getLogger(FeedService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Value("${app.feed.gravity:1.5}")
+    private double gravity;
+
+    @Value("${app.feed.like-weight:1.0}")
+    private double likeWeight;
+
+    @Value("${app.feed.save-weight:2.0}")
+    private double saveWeight;
+
+    @Value("${app.feed.download-weight:0.5}")
+    private double downloadWeight;
+
+    // Posts older than this keep their last score, which has decayed to near zero by then,
+    // so the scheduled refresh only recomputes posts inside the horizon
+    @Value("${app.feed.horizon-days:90}")
+    private int horizonDays;
+
+    private final PostScoreRepository postScoreRepository;
+    private final PostDtoAssembler postDtoAssembler;
+
+    public FeedService(PostScoreRepository postScoreRepository, PostDtoAssembler postDtoAssembler) {
+        this.postScoreRepository = postScoreRepository;
+        this.postDtoAssembler = postDtoAssembler;
+    }
+
+    /**
+     * Adds a score row for every visible post that has none, including posts older than the
+     * ranking horizon, then refreshes the scores. Runs once at startup; afterwards new posts
+     * are registered on upload.
+     *
+     * @return the number of score rows added
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int backfillScores() {
+        int inserted = postScoreRepository.insertMissingPosts(LocalDateTime.now(), gravity, likeWeight, saveWeight);
+        logger.info("Feed scores backfilled: {} posts added", inserted);
+
+        refreshScores();
+        return inserted;
+    }
+
+    /**
+     * Recomputes the scores of the posts inside the ranking horizon and drops rows for
+     * posts that were deleted or blacklisted
+     *
+     * @return the number of score rows written
+     */
+    @Scheduled(fixedDelayString = "${app.feed.refresh-interval-ms:300000}",
+            initialDelayString = "${app.feed.refresh-interval-ms:300000}")
+    @Transactional
+    public int refreshScores() {
+        LocalDateTime now = LocalDateTime.now();
+        int refreshed = postScoreRepository.refreshScores(
+                now.minusDays(horizonDays), now, gravity, likeWeight, saveWeight, downloadWeight);
+        int removed = postScoreRepository.deleteUnrankablePosts();
+
+        logger.info("Feed scores refreshed: {} updated, {} removed", refreshed, removed);
+        return refreshed;
+    }
+
+    /**
+     * Adds a freshly uploaded post to the ranking so it is visible before the next refresh
+     *
+     * @param post the saved post
+     */
+    @Transactional
+    public void registerPost(Post post) {
+        LocalDateTime postedAt = post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now();
+        postScoreRepository.insertNewPost(post.getPostId(), post.getProgram(), post.getUser().getUserId(),
+                1 / Math.pow(2, gravity), postedAt);
+    }
+
+    /**
+     * Puts a post back into the ranking, e.g. after moderation made it visible again. It is
+     * scored from its current likes and saves whatever its age, since the scheduled refresh
+     * only covers posts inside the horizon.
+     *
+     * @param postId the ID of the post
+     */
+    @Transactional
+    public void restorePost(UUID postId) {
+        postScoreRepository.insertPost(postId, LocalDateTime.now(), gravity, likeWeight, saveWeight);
+    }
+
+    /**
+     * Removes a post from the ranking, e.g. after it was deleted or reported
+     *
+     * @param postId the ID of the post
+     */
+    @Transactional
+    public void removePost(UUID postId) {
+        postScoreRepository.deleteByPostId(postId);
+    }
+
+    /**
+     * Counts a download towards the post's score
+     *
+     * @param postId the ID of the downloaded post
+     */
+    @Transactional
+    public void recordDownload(UUID postId) {
+        postScoreRepository.incrementDownloadCount(postId, LocalDateTime.now());
+    }
+
+    /**
+     * Gets a page of the ranked feed for a viewer. Viewers without a program fall back
+     * to the global ranking.
+     *
+     * @param viewerId the ID of the viewing user
+     * @param program the viewer's program
+     * @param page zero-based page number
+     * @param size page size
+     * @return ApiResponse with the posts of the requested page, highest score first
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse getFeed(UUID viewerId, String program, int page, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = Math.max(0, page) * limit;
+
+        try {
+            List<UUID> postIds = (program == null || program.isBlank())
+                    ? postScoreRepository.findTopPostIds(viewerId, limit, offset)
+                    : postScoreRepository.findFeedPostIds(program, viewerId, offset + limit, limit, offset);
+
+            List<PostDto> postDtos = postDtoAssembler.toPostDtos(postIds);
+
+            logger.debug("Feed page {} for user {} returned {} posts", page, viewerId, postDtos.size());
+            return ApiResponse.success("Posts retrieved successfully", postDtos);
+        } catch (Exception e) {
+            logger.error("Error retrieving feed: {}", e.getMessage(), e);
+            return ApiResponse.error("Error retrieving posts: " + e.getMessage());
+        }
+    }
+}
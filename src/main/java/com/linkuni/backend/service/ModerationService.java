@@ -0,0 +1,131 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.dto.ModerationQueueItemDto;
+import com.linkuni.backend.repository.PostReportRepository;
+import com.linkuni.backend.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Admin side of post moderation: the queue of reported posts, ordered by how fast
+ * reports are arriving, and the decisions that resolve them.
+ */
+@Service
+public class ModerationService {
+    private static final Logger logger = LoggerFactory.getLogger(ModerationService.class);
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    @Value("${app.moderation.velocity-window-hours:24}")
+    private int velocityWindowHours;
+    
+    private final PostReportRepository postReportRepository;
+    private final PostRepository postRepository;
+    private final EntityCacheService entityCacheService;
+    private final FeedService feedService;
+    private final FacetService facetService;
+    
+    public ModerationService(PostReportRepository postReportRepository,
+                             PostRepository postRepository,
+                             EntityCacheService entityCacheService,
+                             FeedService feedService,
+                             FacetService facetService) {
+        this.postReportRepository = postReportRepository;
+        this.postRepository = postRepository;
+        this.entityCacheService = entityCacheService;
+        this.feedService = feedService;
+        this.facetService = facetService;
+    }
+    
+    /**
+     * Copies reports that were only recorded in users' blacklisted post lists into post_reports.
+     * Runs before the counter reconciliation so that their report counts are backfilled.
+     * 
+     * @return the number of reports imported
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public int importLegacyReports() {
+        int imported = postReportRepository.importLegacyReports(LocalDateTime.now());
+        if (imported > 0) {
+            logger.info("Imported {} legacy post reports", imported);
+        }
+        return imported;
+    }
+    
+    /**
+     * Gets a page of posts with unresolved reports, fastest-growing first
+     * 
+     * @param page zero-based page number
+     * @param size page size
+     * @return ApiResponse with the queue items and paging information
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse getModerationQueue(int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        
+        try {
+            Page<ModerationQueueItemDto> queue = postReportRepository
+                    .findModerationQueue(LocalDateTime.now().minusHours(velocityWindowHours),
+                            PageRequest.of(Math.max(0, page), pageSize))
+                    .map(ModerationQueueItemDto::fromRow);
+            
+            Map<String, Object> data = new HashMap<>();
+            data.put("items", queue.getContent());
+            data.put("page", queue.getNumber());
+            data.put("size", queue.getSize());
+            data.put("totalItems", queue.getTotalElements());
+            data.put("totalPages", queue.getTotalPages());
+            
+            return ApiResponse.success("Moderation queue retrieved successfully", data);
+        } catch (Exception e) {
+            logger.error("Error retrieving moderation queue: {}", e.getMessage(), e);
+            return ApiResponse.error("Error retrieving moderation queue: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Resolves the pending reports of a post, either hiding it or restoring it
+     * 
+     * @param postId the ID of the post
+     * @param hide true to keep the post hidden, false to make it visible again
+     * @return ApiResponse with the result
+     */
+    @Transactional
+    public ApiResponse resolve(UUID postId, boolean hide) {
+        if (!postRepository.existsById(postId)) {
+            logger.warn("Moderation failed: Post not found with ID: {}", postId);
+            return ApiResponse.error("Post doesn't exist!");
+        }
+        
+        int resolved = postReportRepository.resolveReports(postId);
+        postReportRepository.applyModerationDecision(postId, hide);
+        entityCacheService.evictPost(postId);
+        facetService.invalidate();
+        if (hide) {
+            feedService.removePost(postId);
+        } else {
+            // An auto-hidden post lost its score row, which the scheduled refresh only restores inside the horizon
+            feedService.restorePost(postId);
+        }
+        
+        logger.info("Post {} {} after review ({} reports resolved)", postId, hide ? "hidden" : "restored", resolved);
+        return ApiResponse.success(hide ? "Post has been hidden" : "Post has been restored", null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.dto.PostDto;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.Summary;
+import com.linkuni.backend.repository.PostRepository;
+import com.linkuni.backend.repository.SummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.ThrowingConsumer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Turns an ordered page of post IDs into DTOs, loading the posts and their
+ * summaries with one batched query each instead of one lookup per post.
+ */
+@Component
+public class PostDtoAssembler {
+    
+    private final PostRepository postRepository;
+    private final SummaryRepository summaryRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Posts mapped per summary query when streaming; only this many are held at a time
+    @Value("${app.streaming.chunk-size:100}")
+    private int chunkSize;
+    
+    public PostDtoAssembler(PostRepository postRepository, SummaryRepository summaryRepository) {
+        this.postRepository = postRepository;
+        this.summaryRepository = summaryRepository;
+    }
+    
+    /**
+     * Loads the given posts as DTOs, keeping the order of the IDs
+     * 
+     * @param postIds the post IDs in display order
+     * @return the DTOs; posts that no longer exist or were blacklisted are skipped
+     */
+    public List<PostDto> toPostDtos(List<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<UUID, Post> postsById = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getPostId, Function.identity()));
+        
+        List<Post> posts = new ArrayList<>(postIds.size());
+        for (UUID postId : postIds) {
+            Post post = postsById.get(postId);
+            if (post != null && !Boolean.TRUE.equals(post.getIsBlacklisted())) {
+                posts.add(post);
+            }
+        }
+        return fromPosts(posts);
+    }
+    
+    /**
+     * Converts already loaded posts to DTOs, fetching their summaries in one query
+     * 
+     * @param posts the posts in display order
+     * @return the DTOs in the same order
+     */
+    public List<PostDto> fromPosts(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<UUID> postIds = posts.stream().map(Post::getPostId).toList();
+        Map<UUID, String> summariesByPostId = summaryRepository.findByPost_PostIdIn(postIds).stream()
+                .filter(summary -> summary.getSummaryText() != null)
+                .collect(Collectors.toMap(summary -> summary.getPost().getPostId(), Summary::getSummaryText,
+                        (first, second) -> first));
+        
+        List<PostDto> postDtos = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            postDtos.add(PostDto.fromPost(post,
+                    summariesByPostId.getOrDefault(post.getPostId(), "Summary not available")));
+        }
+        return postDtos;
+    }
+    
+    /**
+     * Converts posts read from a cursor to DTOs a chunk at a time and passes them on in order.
+     * After each chunk the persistence context is cleared, so memory use does not grow with the
+     * number of posts. Must run in the transaction the stream was opened in.
+     * 
+     * @param posts the posts in display order
+     * @param consumer receives each DTO; its exceptions are rethrown wrapped in a RuntimeException
+     * @return the number of DTOs passed on
+     */
+    public int streamPosts(Stream<Post> posts, ThrowingConsumer<PostDto> consumer) {
+        int count = 0;
+        List<Post> chunk = new ArrayList<>(chunkSize);
+        // Asking the cursor whether there is a next row already loads it, so a chunk is only
+        // passed on once it is full, before the loop asks for more
+        Iterator<Post> iterator = posts.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize) {
+                count += passOn(chunk, consumer);
+            }
+        }
+        return count + passOn(chunk, consumer);
+    }
+    
+    private int passOn(List<Post> chunk, ThrowingConsumer<PostDto> consumer) {
+        List<PostDto> postDtos = fromPosts(chunk);
+        for (PostDto postDto : postDtos) {
+            consumer.accept(postDto);
+        }
+        chunk.clear();
+        entityManager.clear();
+        return postDtos.size();
+    }
+}
@@ -8,29 +8,46 @@ import com.linkuni.backend.model.Post;
 import com.linkuni.backend.model.Summary;
 import com.linkuni.backend.model.TextExtract;
 import com.linkuni.backend.model.User;
+import com.linkuni.backend.repository.PostReportRepository;
 import com.linkuni.backend.repository.PostRepository;
+import com.linkuni.backend.repository.PostSpecifications;
 import com.linkuni.backend.repository.SummaryRepository;
 import com.linkuni.backend.repository.TextExtractRepository;
 import com.linkuni.backend.repository.UserRepository;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.function.ThrowingConsumer;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.ResponsePublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 public class PostService {
@@ -51,16 +68,34 @@ public class PostService {
             "application/vnd.openxmlformats-officedocument.presentationml.presentation"
     );
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+    
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOT_FACTORY = ContextSnapshotFactory.builder().build();
+    
     // Maximum file size (10MB)
     @Value("${app.upload.max-file-size:10485760}") // 10MB in bytes
     private long maxFileSize;
     
+    // Number of distinct reports after which a post is hidden pending review
+    @Value("${app.moderation.auto-hide-threshold:3}")
+    private int autoHideThreshold;
+    
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final S3Service s3Service;
     private final TextExtractRepository textExtractRepository;
     private final SummaryRepository summaryRepository;
-    private final ExtractTextService extractTextService;
+    private final DocumentProcessingService documentProcessingService;
+    private final S3CleanupService s3CleanupService;
+    private final EntityCacheService entityCacheService;
+    private final FeedService feedService;
+    private final TimelineService timelineService;
+    private final PostDtoAssembler postDtoAssembler;
+    private final PostReportRepository postReportRepository;
+    private final FacetService facetService;
+    private final ThumbnailService thumbnailService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
     
     public PostService(
             PostRepository postRepository, 
@@ -68,27 +103,115 @@ public class PostService {
             S3Service s3Service,
             TextExtractRepository textExtractRepository,
             SummaryRepository summaryRepository,
-            ExtractTextService extractTextService) {
+            DocumentProcessingService documentProcessingService,
+            S3CleanupService s3CleanupService,
+            EntityCacheService entityCacheService,
+            FeedService feedService,
+            TimelineService timelineService,
+            PostDtoAssembler postDtoAssembler,
+            PostReportRepository postReportRepository,
+            FacetService facetService,
+            ThumbnailService thumbnailService,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.s3Service = s3Service;
         this.textExtractRepository = textExtractRepository;
         this.summaryRepository = summaryRepository;
-        this.extractTextService = extractTextService;
+        this.documentProcessingService = documentProcessingService;
+        this.s3CleanupService = s3CleanupService;
+        this.entityCacheService = entityCacheService;
+        this.feedService = feedService;
+        this.timelineService = timelineService;
+        this.postDtoAssembler = postDtoAssembler;
+        this.postReportRepository = postReportRepository;
+        this.facetService = facetService;
+        this.thumbnailService = thumbnailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
     }
     
     /**
-     * Uploads a new post with an attached file
+     * Uploads a new post with an attached file.
+     * The file is stored before any database work and the post is then inserted in a short
+     * transaction, so no connection is held while S3 or the extractor is called. If the post
+     * cannot be saved the stored file is removed again.
      * 
      * @param userId the ID of the user uploading the post
      * @param file the file to upload
      * @param request the post metadata
      * @return ApiResponse with the created post
      */
-    @Transactional
     public ApiResponse uploadPost(UUID userId, MultipartFile file, PostUploadRequest request) {
-        logger.info("Processing post upload for user: {}", userId);
+        logger.debug("Processing post upload for user: {}", userId);
+        
+        ApiResponse validationError = validateUpload(file);
+        if (validationError != null) {
+            return validationError;
+        }
+        
+        // Upload file to S3, outside any transaction
+        S3Service.S3FileDetails s3FileDetails;
+        try {
+            s3FileDetails = s3Service.uploadFile(file);
+        } catch (Exception e) {
+            logger.error("Error uploading file to S3: {}", e.getMessage(), e);
+            return ApiResponse.error("Error uploading file: " + e.getMessage());
+        }
+        
+        return completeUpload(userId, file, request, s3FileDetails);
+    }
+    
+    /**
+     * Uploads a new post like {@link #uploadPost}, but sends the file to S3 without holding
+     * the calling thread. The post is inserted on the task executor once S3 has stored the file.
+     * 
+     * @param userId the ID of the user uploading the post
+     * @param file the file to upload
+     * @param request the post metadata
+     * @return future completed with the ApiResponse for the created post
+     */
+    public CompletableFuture<ApiResponse> uploadPostAsync(UUID userId, MultipartFile file, PostUploadRequest request) {
+        logger.debug("Processing asynchronous post upload for user: {}", userId);
+        
+        ApiResponse validationError = validateUpload(file);
+        if (validationError != null) {
+            return CompletableFuture.completedFuture(validationError);
+        }
+        
+        // The continuation is scheduled from the S3 client's thread, so the request's trace
+        // context and the handler its connections are attributed to are captured here
+        ContextSnapshot context = CONTEXT_SNAPSHOT_FACTORY.captureAll();
+        CompletableFuture<S3Service.S3FileDetails> upload;
+        try {
+            upload = s3Service.uploadFileAsync(file);
+        } catch (Exception e) {
+            logger.error("Error uploading file to S3: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(ApiResponse.error("Error uploading file: " + e.getMessage()));
+        }
         
+        // Continue off the S3 client's event loop, which must not run blocking database work
+        return upload.handleAsync((s3FileDetails, error) -> {
+            try (ContextSnapshot.Scope scope = context.setThreadLocals()) {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    logger.error("Error uploading file to S3: {}", cause.getMessage(), cause);
+                    return ApiResponse.error("Error uploading file: " + cause.getMessage());
+                }
+                return completeUpload(userId, file, request, s3FileDetails);
+            }
+        }, taskExecutor);
+    }
+    
+    /**
+     * Checks that an uploaded file is present, within the size limit and of a supported type
+     * 
+     * @param file the uploaded file
+     * @return ApiResponse with the error, or null if the file is acceptable
+     */
+    private ApiResponse validateUpload(MultipartFile file) {
         // Validate file
         if (file.isEmpty()) {
             logger.warn("Upload failed: File is empty");
@@ -109,97 +232,134 @@ public class PostService {
             return ApiResponse.error("Unsupported file type. Please upload a PDF, Word document, Excel, PowerPoint, or image file");
         }
         
-        // Find user
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
+        return null;
+    }
+    
+    /**
+     * Saves the post for a file already stored in S3, removing the file again if that fails,
+     * and starts text extraction for PDFs and thumbnail generation for images and PDFs
+     * 
+     * @return ApiResponse with the created post
+     */
+    private ApiResponse completeUpload(UUID userId, MultipartFile file, PostUploadRequest request,
+                                       S3Service.S3FileDetails s3FileDetails) {
+        String contentType = file.getContentType();
+        
+        PostDto postDto;
+        try {
+            postDto = transactionTemplate.execute(status -> {
+                Post savedPost = createPost(userId, file, request, contentType, s3FileDetails);
+                return savedPost != null ? PostDto.fromPost(savedPost) : null;
+            });
+        } catch (Exception e) {
+            logger.error("Error creating post: {}", e.getMessage(), e);
+            removeOrphanedFile(s3FileDetails.getFileKey());
+            return ApiResponse.error("Error creating post: " + e.getMessage());
+        }
+        
+        if (postDto == null) {
             logger.warn("Upload failed: User not found with ID: {}", userId);
+            removeOrphanedFile(s3FileDetails.getFileKey());
             return ApiResponse.error("User not found");
         }
         
-        User user = userOptional.get();
+        logger.info("Post uploaded successfully. Post ID: {}", postDto.id());
         
+        // For PDFs, extract text and generate summary asynchronously
+        if ("application/pdf".equals(contentType)) {
+            startDocumentProcessing(postDto.id(), file);
+        }
+        
+        // Cards show a thumbnail of the image or of the document's first page instead of the file
+        if (SUPPORTED_IMAGE_TYPES.contains(contentType) || "application/pdf".equals(contentType)) {
+            thumbnailService.generateThumbnailsAsync(postDto.id(), postDto.fileKey(), contentType, file);
+        }
+        
+        // Add default summary since we just created the post and likely don't have a summary yet
+        return ApiResponse.success("Post successfully uploaded!", postDto.withSummary("Summary not available"));
+    }
+    
+    /**
+     * Copies an uploaded PDF to a temporary file and queues it for text extraction. The multipart
+     * temp file is removed when the request completes, and a copy on disk rather than in memory
+     * keeps a burst of uploads from filling the heap while the extractor is busy.
+     * 
+     * @param postId the ID of the saved post
+     * @param file the uploaded PDF
+     */
+    private void startDocumentProcessing(UUID postId, MultipartFile file) {
+        Path stagedFile = null;
         try {
-            // Upload file to S3
-            S3Service.S3FileDetails s3FileDetails = s3Service.uploadFile(file);
-            
-            // Create and save post
-            Post post = new Post();
-            post.setUser(user);
-            post.setTitle(request.getTitle());
-            post.setDescription(request.getDesc());
-            post.setFileUrl(s3FileDetails.getFileUrl());
-            post.setFileKey(s3FileDetails.getFileKey());
-            post.setFileType(contentType);
-            post.setFileName(file.getOriginalFilename());
-            post.setProgram(request.getProgram());
-            post.setCourse(request.getCourse());
-            post.setResourceType(request.getResourceType());
-            
-            Post savedPost = postRepository.save(post);
-            
-            // Add post to user's post list
-            user.getPosts().add(savedPost.getPostId());
-            userRepository.save(user);
-            
-            logger.info("Post uploaded successfully. Post ID: {}", savedPost.getPostId());
-            
-            // For PDFs, extract text and generate summary asynchronously
-            if ("application/pdf".equals(contentType)) {
-                processDocumentAsync(savedPost, file);
+            try (InputStream content = file.getInputStream()) {
+                stagedFile = StagedFiles.stage(content, "linkuni-extract-", ".pdf");
             }
             
-            PostDto postDto = PostDto.fromPost(savedPost);
-            // Add default summary since we just created the post and likely don't have a summary yet
-            postDto.setSummary("Summary not available");
-            
-            return ApiResponse.success("Post successfully uploaded!", postDto);
-            
-        } catch (IOException e) {
-            logger.error("Error uploading file to S3: {}", e.getMessage(), e);
-            return ApiResponse.error("Error uploading file: " + e.getMessage());
-        } catch (Exception e) {
-            logger.error("Error creating post: {}", e.getMessage(), e);
-            return ApiResponse.error("Error creating post: " + e.getMessage());
+            // The task deletes the staged file once the extractor has read it
+            documentProcessingService.processDocumentAsync(postId, stagedFile, file.getOriginalFilename());
+        } catch (IOException | TaskRejectedException e) {
+            logger.error("Error queueing text extraction of post {}: {}", postId, e.getMessage(), e);
+            StagedFiles.delete(stagedFile);
         }
     }
     
     /**
-     * Process document text extraction and summarization asynchronously
+     * Inserts the post for a stored file and updates the author's counters
      * 
-     * @param post The saved post
-     * @param file The uploaded file
+     * @return the saved post, or null if the user does not exist
      */
-    @Async
-    public void processDocumentAsync(Post post, MultipartFile file) {
-        logger.info("Starting asynchronous text extraction for post: {}", post.getPostId());
+    private Post createPost(UUID userId, MultipartFile file, PostUploadRequest request, String contentType,
+                            S3Service.S3FileDetails s3FileDetails) {
+        Optional<User> userOptional = userRepository.findById(userId);
+        if (userOptional.isEmpty()) {
+            return null;
+        }
+        
+        User user = userOptional.get();
+        
+        // Create and save post
+        Post post = new Post();
+        post.setUser(user);
+        post.setTitle(request.getTitle());
+        post.setDescription(request.getDesc());
+        post.setFileUrl(s3FileDetails.getFileUrl());
+        post.setFileKey(s3FileDetails.getFileKey());
+        post.setFileType(contentType);
+        post.setFileName(file.getOriginalFilename());
+        post.setProgram(request.getProgram());
+        post.setCourse(request.getCourse());
+        post.setResourceType(request.getResourceType());
+        
+        Post savedPost = postRepository.save(post);
+        
+        // Add post to user's post list
+        user.getPosts().add(savedPost.getPostId());
+        userRepository.save(user);
+        userRepository.adjustPostCount(userId, 1);
+        user.setPostCount(user.getPostCount() + 1);
+        entityCacheService.evictUser(userId);
+        feedService.registerPost(savedPost);
+        timelineService.fanOut(savedPost, user);
+        facetService.invalidate();
+        
+        return savedPost;
+    }
+    
+    /**
+     * Deletes a stored file whose post could not be saved, falling back to the
+     * cleanup outbox if S3 is unavailable
+     * 
+     * @param fileKey the key of the orphaned file
+     */
+    private void removeOrphanedFile(String fileKey) {
         try {
-            Map<String, Object> extractionResult = extractTextService.extractText(file);
-            
-            if (extractionResult != null) {
-                // Save summary
-                Object summaryObj = extractionResult.get("summary");
-                if (summaryObj != null) {
-                    String summaryText = summaryObj.toString();
-                    Summary summary = Summary.builder()
-                            .post(post)
-                            .summaryText(summaryText)
-                            .build();
-                    summaryRepository.save(summary);
-                    logger.info("Summary saved for post: {}", post.getPostId());
-                }
-                
-                // Save text extraction
-                TextExtract textExtract = TextExtract.builder()
-                        .post(post)
-                        .build();
-                textExtract.setTextFromMap(extractionResult);
-                textExtractRepository.save(textExtract);
-                logger.info("Text extraction saved for post: {}", post.getPostId());
-            } else {
-                logger.warn("Extraction result was null for post: {}", post.getPostId());
+            s3Service.deleteFile(fileKey);
+        } catch (IOException e) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> s3CleanupService.enqueue(List.of(fileKey)));
+            } catch (Exception enqueueError) {
+                logger.error("Could not schedule deletion of orphaned file {}: {}",
+                        fileKey, enqueueError.getMessage(), enqueueError);
             }
-        } catch (Exception e) {
-            logger.error("Error processing document for post {}: {}", post.getPostId(), e.getMessage(), e);
         }
     }
     
@@ -209,6 +369,7 @@ public class PostService {
      * @param postId the ID of the post
      * @return ApiResponse with the post and any extracted information
      */
+    @Transactional(readOnly = true)
     public ApiResponse getPostById(UUID postId) {
         Optional<Post> postOptional = postRepository.findById(postId);
         
@@ -218,27 +379,88 @@ public class PostService {
         }
         
         Post post = postOptional.get();
-        logger.info("Post retrieved: {}", post.getPostId());
+        logger.debug("Post retrieved: {}", post.getPostId());
         
         PostDto postDto = PostDto.fromPost(post);
         
         // Fetch and include summary if available, otherwise set default
         Optional<Summary> summaryOptional = summaryRepository.findByPost(post);
         if (summaryOptional.isPresent()) {
-            postDto.setSummary(summaryOptional.get().getSummaryText());
+            postDto = postDto.withSummary(summaryOptional.get().getSummaryText());
         } else {
-            postDto.setSummary("Summary not available");
+            postDto = postDto.withSummary("Summary not available");
         }
         
         // Fetch and include text extract if available
         Optional<TextExtract> textExtractOptional = textExtractRepository.findByPost(post);
         if (textExtractOptional.isPresent()) {
-            postDto.setExtractedText(textExtractOptional.get().getExtractedText());
+            postDto = postDto.withExtractedText(textExtractOptional.get().getExtractedText());
         }
         
         return ApiResponse.success("Post retrieved successfully", postDto);
     }
     
+    /**
+     * Gets the summary and extracted text of a post
+     * 
+     * @param postId the ID of the post
+     * @return ApiResponse with the summary and extracted text, or an error if no text has been extracted
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse getTextExtraction(UUID postId) {
+        Optional<TextExtract> textExtractOptional = textExtractRepository.findByPost_PostId(postId);
+        if (textExtractOptional.isEmpty()) {
+            return ApiResponse.error("Text extraction not found");
+        }
+        
+        Map<String, Object> extractionData = new HashMap<>();
+        
+        // Get summary if available, otherwise set default text
+        Optional<Summary> summaryOptional = summaryRepository.findByPost_PostId(postId);
+        if (summaryOptional.isPresent()) {
+            extractionData.put("summary", summaryOptional.get().getSummaryText());
+        } else {
+            extractionData.put("summary", "Summary not available");
+        }
+        extractionData.put("extractedText", textExtractOptional.get().getExtractedText());
+        
+        return ApiResponse.success("Text extraction data retrieved", extractionData);
+    }
+    
+    /**
+     * Gets the version stamp of a post as returned by getPostById, for use as an ETag
+     * 
+     * @param postId the ID of the post
+     * @return the version stamp, or null if the post doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public String getPostVersion(UUID postId) {
+        return postRepository.findPostVersion(postId).orElse(null);
+    }
+    
+    /**
+     * Gets the version stamp of a user's post list as seen by the viewer, for use as an ETag
+     * 
+     * @param userId the ID of the user
+     * @param viewerId the ID of the viewing user, or null for anonymous viewers
+     * @return the version stamp, or null if the user doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public String getPostsByUserVersion(UUID userId, UUID viewerId) {
+        return postRepository.findPostsByUserVersion(userId, viewerId).orElse(null);
+    }
+    
+    /**
+     * Gets the version stamp of a post's summary and extracted text, for use as an ETag
+     * 
+     * @param postId the ID of the post
+     * @return the version stamp, or null if no text has been extracted
+     */
+    @Transactional(readOnly = true)
+    public String getExtractionVersion(UUID postId) {
+        return postRepository.findExtractionVersion(postId).orElse(null);
+    }
+    
     /**
      * Downloads a file from a post
      * 
@@ -247,7 +469,7 @@ public class PostService {
      * @throws IOException if an error occurs during file download
      */
     public StreamingResponse downloadFileFromPost(UUID postId) throws IOException {
-        logger.info("Download file requested for post ID: {}", postId);
+        logger.debug("Download file requested for post ID: {}", postId);
         
         // Find post
         Optional<Post> postOptional = postRepository.findById(postId);
@@ -269,6 +491,13 @@ public class PostService {
             // Download file from S3
             InputStream fileStream = s3Service.downloadFile(fileKey);
             
+            // Downloads feed the ranking; failing to count one must not fail the download
+            try {
+                feedService.recordDownload(postId);
+            } catch (Exception e) {
+                logger.warn("Could not record download for post {}: {}", postId, e.getMessage());
+            }
+            
             // Create streaming response
             return new StreamingResponse(
                     fileStream,
@@ -281,6 +510,52 @@ public class PostService {
         }
     }
     
+    /**
+     * Starts a non-blocking download of the file attached to a post
+     * 
+     * @param postId the ID of the post
+     * @return the pending download, or null if the post or its file does not exist
+     */
+    public AsyncFileDownload downloadFileFromPostAsync(UUID postId) {
+        logger.debug("Asynchronous file download requested for post ID: {}", postId);
+        
+        Optional<Post> postOptional = postRepository.findById(postId);
+        if (postOptional.isEmpty()) {
+            logger.warn("Download file failed: Post not found with ID: {}", postId);
+            return null;
+        }
+        
+        Post post = postOptional.get();
+        
+        String fileKey = post.getFileKey();
+        if (fileKey == null || fileKey.isEmpty()) {
+            logger.warn("Download file failed: File key is missing in post: {}", post.getPostId());
+            return null;
+        }
+        
+        CompletableFuture<ResponsePublisher<GetObjectResponse>> content = s3Service.downloadFileAsync(fileKey);
+        
+        // Counted here rather than once S3 answers, so that no database work runs on the S3 event loop
+        try {
+            feedService.recordDownload(postId);
+        } catch (Exception e) {
+            logger.warn("Could not record download for post {}: {}", postId, e.getMessage());
+        }
+        
+        return new AsyncFileDownload(content, post.getFileType(), post.getFileName());
+    }
+    
+    /**
+     * A download whose content arrives from S3 asynchronously
+     * 
+     * @param content future completed with a publisher of the file content once S3 has answered
+     * @param contentType the MIME type of the file
+     * @param fileName the original name of the file
+     */
+    public record AsyncFileDownload(CompletableFuture<ResponsePublisher<GetObjectResponse>> content,
+                                    String contentType, String fileName) {
+    }
+    
     /**
      * Class to hold file streaming data
      */
@@ -317,7 +592,7 @@ public class PostService {
      */
     @Transactional
     public ApiResponse deletePost(UUID postId, UUID userId) {
-        logger.info("Delete post requested for post ID: {} by user ID: {}", postId, userId);
+        logger.debug("Delete post requested for post ID: {} by user ID: {}", postId, userId);
         
         // Find post
         Optional<Post> postOptional = postRepository.findById(postId);
@@ -344,151 +619,90 @@ public class PostService {
         User user = userOptional.get();
         
         try {
-            // Delete file from S3 if file key exists
-            String fileKey = post.getFileKey();
-            if (fileKey != null && !fileKey.isEmpty()) {
-                try {
-                    s3Service.deleteFile(fileKey);
-                } catch (IOException e) {
-                    logger.error("Error deleting file from S3: {}", e.getMessage(), e);
-                    return ApiResponse.error("Error deleting file: " + e.getMessage());
-                }
-            }
+            // Queue the file and its thumbnails for deletion; the outbox drainer removes them from S3 after commit
+            List<String> fileKeys = new ArrayList<>();
+            fileKeys.add(post.getFileKey());
+            fileKeys.addAll(ThumbnailService.thumbnailKeys(
+                    post.getFileKey(), post.getThumbnailWidths(), post.getThumbnailPages()));
+            s3CleanupService.enqueue(fileKeys);
+            
+            // Remove rows that reference the post
+            summaryRepository.findByPost_PostId(postId).ifPresent(summaryRepository::delete);
+            textExtractRepository.deleteAllByPostId(postId);
+            feedService.removePost(postId);
+            timelineService.removePost(postId);
+            postReportRepository.deleteByPostId(postId);
             
             // Remove post reference from user
             user.getPosts().remove(postId);
             userRepository.save(user);
+            userRepository.adjustPostCount(userId, -1);
+            entityCacheService.evictUser(userId);
             
             // Delete post
             postRepository.delete(post);
+            facetService.invalidate();
             
             logger.info("Post deleted successfully: {}", postId);
             
             return ApiResponse.success("The post has been deleted", null);
         } catch (Exception e) {
             logger.error("Error deleting post: {}", e.getMessage(), e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return ApiResponse.error("Error deleting post: " + e.getMessage());
         }
     }
     
     /**
-     * Gets all posts from the database
-     * 
-     * @return ApiResponse with the list of all posts
-     */
-    public ApiResponse getAllPosts() {
-        logger.info("Getting all posts");
-        
-        try {
-            List<Post> posts = postRepository.findAll();
-            List<PostDto> postDtos = posts.stream()
-                    .map(post -> {
-                        PostDto dto = PostDto.fromPost(post);
-                        // Add summary if available, otherwise set default
-                        Optional<Summary> summaryOptional = summaryRepository.findByPost(post);
-                        if (summaryOptional.isPresent()) {
-                            dto.setSummary(summaryOptional.get().getSummaryText());
-                        } else {
-                            dto.setSummary("Summary not available");
-                        }
-                        return dto;
-                    })
-                    .toList();
-            
-            logger.info("Retrieved {} posts", posts.size());
-            return ApiResponse.success("Posts retrieved successfully", postDtos);
-        } catch (Exception e) {
-            logger.error("Error retrieving all posts: {}", e.getMessage(), e);
-            return ApiResponse.error("Error retrieving posts: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Gets all posts created by a specific user
+     * Streams all posts created by a specific user, newest first
      * 
      * @param userId the ID of the user
-     * @return ApiResponse with the list of posts
+     * @param viewerId the ID of the viewing user, or null for anonymous viewers
+     * @param consumer receives the posts as they are read
+     * @return false if the user doesn't exist, in which case nothing is passed on
      */
-    public ApiResponse getPostsByUser(UUID userId) {
-        logger.info("Getting posts for user: {}", userId);
+    @Transactional(readOnly = true)
+    public boolean streamPostsByUser(UUID userId, UUID viewerId, ThrowingConsumer<PostDto> consumer) {
+        logger.debug("Getting posts for user: {}", userId);
         
         // Check if user exists
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             logger.warn("Get posts by user failed: User not found with ID: {}", userId);
-            return ApiResponse.error("User not found");
+            return false;
         }
         
-        try {
-            List<Post> posts = postRepository.findByUser_UserId(userId);
-            List<PostDto> postDtos = posts.stream()
-                    .map(post -> {
-                        PostDto dto = PostDto.fromPost(post);
-                        // Add summary if available, otherwise set default
-                        Optional<Summary> summaryOptional = summaryRepository.findByPost(post);
-                        if (summaryOptional.isPresent()) {
-                            dto.setSummary(summaryOptional.get().getSummaryText());
-                        } else {
-                            dto.setSummary("Summary not available");
-                        }
-                        return dto;
-                    })
-                    .toList();
-            
-            logger.info("Retrieved {} posts for user {}", posts.size(), userId);
-            return ApiResponse.success("User posts retrieved successfully", postDtos);
-        } catch (Exception e) {
-            logger.error("Error retrieving posts for user {}: {}", userId, e.getMessage(), e);
-            return ApiResponse.error("Error retrieving user posts: " + e.getMessage());
+        try (Stream<Post> posts = postRepository.streamAll(
+                PostSpecifications.byUser(userId).and(PostSpecifications.visibleTo(viewerId)), NEWEST_FIRST)) {
+            int count = postDtoAssembler.streamPosts(posts, consumer);
+            logger.debug("Retrieved {} posts for user {}", count, userId);
         }
+        return true;
     }
     
     /**
-     * Gets all posts saved by a specific user
+     * Streams all posts saved by a specific user, newest first
      * 
      * @param userId the ID of the user
-     * @return ApiResponse with the list of saved posts
+     * @param viewerId the ID of the viewing user, or null for anonymous viewers
+     * @param consumer receives the posts as they are read
+     * @return false if the user doesn't exist, in which case nothing is passed on
      */
-    public ApiResponse getSavedPostsByUser(UUID userId) {
-        logger.info("Getting saved posts for user: {}", userId);
+    @Transactional(readOnly = true)
+    public boolean streamSavedPostsByUser(UUID userId, UUID viewerId, ThrowingConsumer<PostDto> consumer) {
+        logger.debug("Getting saved posts for user: {}", userId);
         
         // Check if user exists
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             logger.warn("Get saved posts failed: User not found with ID: {}", userId);
-            return ApiResponse.error("User not found");
+            return false;
         }
         
-        User user = userOptional.get();
-        List<UUID> savedPostIds = user.getSavedPosts();
-        
-        if (savedPostIds == null || savedPostIds.isEmpty()) {
-            logger.info("User {} has no saved posts", userId);
-            return ApiResponse.success("User has no saved posts", List.of());
-        }
-        
-        try {
-            List<Post> savedPosts = postRepository.findAllById(savedPostIds);
-            List<PostDto> postDtos = savedPosts.stream()
-                    .map(post -> {
-                        PostDto dto = PostDto.fromPost(post);
-                        // Add summary if available, otherwise set default
-                        Optional<Summary> summaryOptional = summaryRepository.findByPost(post);
-                        if (summaryOptional.isPresent()) {
-                            dto.setSummary(summaryOptional.get().getSummaryText());
-                        } else {
-                            dto.setSummary("Summary not available");
-                        }
-                        return dto;
-                    })
-                    .toList();
-            
-            logger.info("Retrieved {} saved posts for user {}", savedPosts.size(), userId);
-            return ApiResponse.success("Saved posts retrieved successfully", postDtos);
-        } catch (Exception e) {
-            logger.error("Error retrieving saved posts for user {}: {}", userId, e.getMessage(), e);
-            return ApiResponse.error("Error retrieving saved posts: " + e.getMessage());
+        try (Stream<Post> posts = postRepository.streamAll(
+                PostSpecifications.savedBy(userId).and(PostSpecifications.visibleTo(viewerId)), NEWEST_FIRST)) {
+            int count = postDtoAssembler.streamPosts(posts, consumer);
+            logger.debug("Retrieved {} saved posts for user {}", count, userId);
         }
+        return true;
     }
     
     /**
@@ -506,7 +720,7 @@ public class PostService {
     @Transactional
     public ApiResponse updatePost(UUID postId, UUID userId, String title, String description, 
                                   String program, String course, String resourceType) {
-        logger.info("Update post requested for post ID: {} by user ID: {}", postId, userId);
+        logger.debug("Update post requested for post ID: {} by user ID: {}", postId, userId);
         
         // Find post
         Optional<Post> postOptional = postRepository.findById(postId);
@@ -558,6 +772,7 @@ public class PostService {
         
         try {
             Post updatedPost = postRepository.save(post);
+            facetService.invalidate();
             
             logger.info("Post updated successfully: {}", postId);
             
@@ -565,9 +780,9 @@ public class PostService {
             // Add summary if available, otherwise set default
             Optional<Summary> summaryOptional = summaryRepository.findByPost(updatedPost);
             if (summaryOptional.isPresent()) {
-                postDto.setSummary(summaryOptional.get().getSummaryText());
+                postDto = postDto.withSummary(summaryOptional.get().getSummaryText());
             } else {
-                postDto.setSummary("Summary not available");
+                postDto = postDto.withSummary("Summary not available");
             }
             
             return ApiResponse.success("Post updated successfully", postDto);
@@ -586,7 +801,7 @@ public class PostService {
      */
     @Transactional
     public ApiResponse likePost(UUID postId, UUID userId) {
-        logger.info("Like/unlike post requested for post ID: {} by user ID: {}", postId, userId);
+        logger.debug("Like/unlike post requested for post ID: {} by user ID: {}", postId, userId);
         
         // Find post
         Optional<Post> postOptional = postRepository.findById(postId);
@@ -605,14 +820,14 @@ public class PostService {
                 post.getLikes().remove(userId);
                 postRepository.save(post);
                 
-                logger.info("Post unliked: {} by user: {}", postId, userId);
+                logger.debug("Post unliked: {} by user: {}", postId, userId);
                 return ApiResponse.success("The post has been disliked", -1);
             } else {
                 // Like the post
                 post.getLikes().add(userId);
                 postRepository.save(post);
                 
-                logger.info("Post liked: {} by user: {}", postId, userId);
+                logger.debug("Post liked: {} by user: {}", postId, userId);
                 return ApiResponse.success("The post has been liked", 1);
             }
         } catch (Exception e) {
@@ -630,7 +845,7 @@ public class PostService {
      */
     @Transactional
     public ApiResponse savePost(UUID postId, UUID userId) {
-        logger.info("Save/unsave post requested for post ID: {} by user ID: {}", postId, userId);
+        logger.debug("Save/unsave post requested for post ID: {} by user ID: {}", postId, userId);
         
         // Find post
         Optional<Post> postOptional = postRepository.findById(postId);
@@ -656,7 +871,7 @@ public class PostService {
                 user.getSavedPosts().remove(postId);
                 userRepository.save(user);
                 
-                logger.info("Post removed from saved: {} by user: {}", postId, userId);
+                logger.debug("Post removed from saved: {} by user: {}", postId, userId);
                 
                 // Create a user DTO without password
                 Map<String, Object> userMap = new HashMap<>();
@@ -673,7 +888,7 @@ public class PostService {
                 user.getSavedPosts().add(postId);
                 userRepository.save(user);
                 
-                logger.info("Post saved: {} by user: {}", postId, userId);
+                logger.debug("Post saved: {} by user: {}", postId, userId);
                 
                 // Create a user DTO without password
                 Map<String, Object> userMap = new HashMap<>();
@@ -693,7 +908,8 @@ public class PostService {
     }
     
     /**
-     * Reports a post and marks it as blacklisted
+     * Reports a post. Each user's report is counted once; the post is hidden once it
+     * reaches the auto-hide threshold.
      * 
      * @param postId the ID of the post
      * @param userId the ID of the user reporting the post
@@ -701,37 +917,32 @@ public class PostService {
      */
     @Transactional
     public ApiResponse reportPost(UUID postId, UUID userId) {
-        logger.info("Report post requested for post ID: {} by user ID: {}", postId, userId);
+        logger.debug("Report post requested for post ID: {} by user ID: {}", postId, userId);
         
-        // Find post
-        Optional<Post> postOptional = postRepository.findById(postId);
-        if (postOptional.isEmpty()) {
+        if (!postRepository.existsById(postId)) {
             logger.warn("Report post failed: Post not found with ID: {}", postId);
             return ApiResponse.error("Post doesn't exist!");
         }
         
-        // Find user
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             logger.warn("Report post failed: User not found with ID: {}", userId);
             return ApiResponse.error("User doesn't exist!");
         }
         
-        Post post = postOptional.get();
-        User user = userOptional.get();
-        
         try {
-            // Mark post as blacklisted
-            post.setIsBlacklisted(true);
-            postRepository.save(post);
+            List<Boolean> outcome = postReportRepository.report(postId, userId, LocalDateTime.now(), autoHideThreshold);
             
-            // Add post to user's blacklisted posts if not already there
-            if (!user.getBlacklistedPosts().contains(postId)) {
-                user.getBlacklistedPosts().add(postId);
-                userRepository.save(user);
+            if (outcome.isEmpty()) {
+                logger.debug("Post {} was already reported by user {}", postId, userId);
+            } else {
+                entityCacheService.evictPost(postId);
+                if (Boolean.TRUE.equals(outcome.get(0))) {
+                    feedService.removePost(postId);
+                    facetService.invalidate();
+                    logger.info("Post {} hidden after reaching the report threshold", postId);
+                }
             }
             
-            logger.info("Post reported and blacklisted: {} by user: {}", postId, userId);
             return ApiResponse.success("Post has been reported", null);
         } catch (Exception e) {
             logger.error("Error reporting post: {}", e.getMessage(), e);
@@ -740,98 +951,44 @@ public class PostService {
     }
     
     /**
-     * Filters posts based on multiple criteria
+     * Filters posts based on multiple criteria. All criteria, including the exclusion of
+     * blacklisted and reported posts, are evaluated by the database.
      * 
      * @param filterRequest the filter criteria
-     * @return ApiResponse with the filtered posts
+     * @param viewerId the ID of the viewing user, or null for anonymous viewers
+     * @param consumer receives the posts as they are read
      */
-    public ApiResponse filterPosts(PostFilterRequest filterRequest) {
-        logger.info("Filter posts requested with criteria: {}", filterRequest);
+    @Transactional(readOnly = true)
+    public void streamFilteredPosts(PostFilterRequest filterRequest, UUID viewerId,
+                                    ThrowingConsumer<PostDto> consumer) {
+        logger.debug("Filter posts requested with criteria: {}", filterRequest);
         
-        try {
-            List<Post> allPosts = postRepository.findAll();
-            
-            // Apply filters
-            List<Post> filteredPosts = allPosts.stream()
-                    .filter(post -> {
-                        // Program filter
-                        if (filterRequest.getProgram() != null && !filterRequest.getProgram().isEmpty() &&
-                                !post.getProgram().equalsIgnoreCase(filterRequest.getProgram())) {
-                            return false;
-                        }
-                        
-                        // Course filter
-                        if (filterRequest.getCourse() != null && !filterRequest.getCourse().isEmpty() &&
-                                !post.getCourse().equalsIgnoreCase(filterRequest.getCourse())) {
-                            return false;
-                        }
-                        
-                        // Resource type filter
-                        if (filterRequest.getResourceType() != null && !filterRequest.getResourceType().isEmpty() &&
-                                !post.getResourceType().equalsIgnoreCase(filterRequest.getResourceType())) {
-                            return false;
-                        }
-                        
-                        // File type filter
-                        if (filterRequest.getFileType() != null && !filterRequest.getFileType().isEmpty() &&
-                                !post.getFileType().contains(filterRequest.getFileType())) {
-                            return false;
-                        }
-                        
-                        // Keyword search in title or description
-                        if (filterRequest.getKeyword() != null && !filterRequest.getKeyword().isEmpty()) {
-                            String keyword = filterRequest.getKeyword().toLowerCase();
-                            boolean titleMatch = post.getTitle() != null && 
-                                    post.getTitle().toLowerCase().contains(keyword);
-                            boolean descMatch = post.getDescription() != null && 
-                                    post.getDescription().toLowerCase().contains(keyword);
-                            
-                            if (!titleMatch && !descMatch) {
-                                return false;
-                            }
-                        }
-                        
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-            
-            // Apply sorting if specified
-            if (filterRequest.getSort() != null && !filterRequest.getSort().isEmpty()) {
-                switch (filterRequest.getSort().toLowerCase()) {
-                    case "newest":
-                        filteredPosts.sort(Comparator.comparing(Post::getCreatedAt).reversed());
-                        break;
-                    case "oldest":
-                        filteredPosts.sort(Comparator.comparing(Post::getCreatedAt));
-                        break;
-                    case "title":
-                        filteredPosts.sort(Comparator.comparing(Post::getTitle, String.CASE_INSENSITIVE_ORDER));
-                        break;
-                    // Add more sorting options as needed
-                }
+        Specification<Post> specification = PostSpecifications.matching(filterRequest, viewerId);
+        
+        Sort sort = Sort.unsorted();
+        if (hasText(filterRequest.getSort())) {
+            switch (filterRequest.getSort().toLowerCase()) {
+                case "newest":
+                    sort = NEWEST_FIRST;
+                    break;
+                case "oldest":
+                    sort = Sort.by(Sort.Direction.ASC, "createdAt");
+                    break;
+                case "title":
+                    sort = Sort.by(Sort.Order.asc("title").ignoreCase());
+                    break;
+                // Add more sorting options as needed
             }
-            
-            // Convert to DTOs
-            List<PostDto> postDtos = filteredPosts.stream()
-                    .map(post -> {
-                        PostDto dto = PostDto.fromPost(post);
-                        // Add summary if available, otherwise set default
-                        Optional<Summary> summaryOptional = summaryRepository.findByPost(post);
-                        if (summaryOptional.isPresent()) {
-                            dto.setSummary(summaryOptional.get().getSummaryText());
-                        } else {
-                            dto.setSummary("Summary not available");
-                        }
-                        return dto;
-                    })
-                    .toList();
-            
-            logger.info("Filtered posts: returned {} matches", postDtos.size());
-            return ApiResponse.success("Posts filtered successfully", postDtos);
-        } catch (Exception e) {
-            logger.error("Error filtering posts: {}", e.getMessage(), e);
-            return ApiResponse.error("Error filtering posts: " + e.getMessage());
         }
+        
+        try (Stream<Post> posts = postRepository.streamAll(specification, sort)) {
+            int count = postDtoAssembler.streamPosts(posts, consumer);
+            logger.debug("Filtered posts: returned {} matches", count);
+        }
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
     }
     
     /**
@@ -841,7 +998,7 @@ public class PostService {
      * @return ApiResponse with the presigned URL
      */
     public ApiResponse generatePresignedUrl(UUID postId) {
-        logger.info("Generate presigned URL requested for post ID: {}", postId);
+        logger.debug("Generate presigned URL requested for post ID: {}", postId);
         
         // Find post
         Optional<Post> postOptional = postRepository.findById(postId);
@@ -866,7 +1023,7 @@ public class PostService {
             Map<String, String> urlMap = new HashMap<>();
             urlMap.put("signedUrl", signedUrl);
             
-            logger.info("Presigned URL generated for post: {}", postId);
+            logger.debug("Presigned URL generated for post: {}", postId);
             return ApiResponse.success("Presigned URL generated successfully", urlMap);
         } catch (Exception e) {
             logger.error("Error generating presigned URL: {}", e.getMessage(), e);
@@ -0,0 +1,169 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.model.S3DeletionTask;
+import com.linkuni.backend.repository.S3DeletionTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Removes S3 objects that are no longer referenced by any database row.
+ * Callers record object keys in the s3_deletion_outbox table within their own transaction;
+ * a scheduled drainer deletes them from S3 in batches afterwards, so S3 latency and
+ * failures never affect the user-facing request.
+ */
+@Service
+public class S3CleanupService {
+    private static final Logger logger = LoggerFactory.getLogger(S3CleanupService.class);
+    
+    // Upper bound for the retry backoff
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    
+    private final S3DeletionTaskRepository s3DeletionTaskRepository;
+    private final S3Service s3Service;
+    private final TransactionTemplate transactionTemplate;
+    
+    private final AtomicLong backlogSize = new AtomicLong();
+    private final AtomicLong exhaustedSize = new AtomicLong();
+    private final Counter deletedCounter;
+    private final Counter failedCounter;
+    
+    @Value("${app.s3.cleanup.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${app.s3.cleanup.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${app.s3.cleanup.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+    
+    public S3CleanupService(S3DeletionTaskRepository s3DeletionTaskRepository,
+                            S3Service s3Service,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.s3DeletionTaskRepository = s3DeletionTaskRepository;
+        this.s3Service = s3Service;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        Gauge.builder("s3.cleanup.backlog", backlogSize, AtomicLong::get)
+                .description("Pending S3 deletions in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("s3.cleanup.exhausted", exhaustedSize, AtomicLong::get)
+                .description("S3 deletions that ran out of retries")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("s3.cleanup.deleted")
+                .description("S3 objects deleted by the outbox drainer")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("s3.cleanup.failed")
+                .description("Failed S3 delete attempts")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Records files for deletion as part of the caller's transaction.
+     * If the transaction rolls back the files are left untouched.
+     * 
+     * @param fileKeys the keys of the files to delete
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(List<String> fileKeys) {
+        List<S3DeletionTask> tasks = fileKeys.stream()
+                .filter(key -> key != null && !key.isEmpty())
+                .distinct()
+                .map(S3DeletionTask::new)
+                .toList();
+        
+        if (!tasks.isEmpty()) {
+            s3DeletionTaskRepository.saveAll(tasks);
+            logger.debug("Queued {} files for S3 deletion", tasks.size());
+        }
+    }
+    
+    /**
+     * Drains due outbox rows: claims a batch in a short transaction, deletes the objects
+     * from S3 outside of any transaction and then records the outcome.
+     */
+    @Scheduled(fixedDelayString = "${app.s3.cleanup.interval-ms:15000}")
+    public void drainOutbox() {
+        List<S3DeletionTask> claimed = transactionTemplate.execute(status -> claimBatch());
+        
+        if (claimed != null && !claimed.isEmpty()) {
+            Map<String, List<UUID>> idsByKey = claimed.stream()
+                    .collect(Collectors.groupingBy(S3DeletionTask::getFileKey,
+                            Collectors.mapping(S3DeletionTask::getId, Collectors.toList())));
+            
+            List<String> failedKeys = s3Service.deleteFiles(List.copyOf(idsByKey.keySet()));
+            Set<String> failed = new HashSet<>(failedKeys);
+            
+            transactionTemplate.executeWithoutResult(status -> recordOutcome(claimed, failed));
+            
+            deletedCounter.increment(idsByKey.size() - failed.size());
+            failedCounter.increment(failed.size());
+            logger.info("S3 cleanup processed {} files, {} failed", idsByKey.size(), failed.size());
+        }
+        
+        backlogSize.set(s3DeletionTaskRepository.count());
+        exhaustedSize.set(s3DeletionTaskRepository.countByAttemptsGreaterThanEqual(maxAttempts));
+    }
+    
+    private List<S3DeletionTask> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<S3DeletionTask> tasks = s3DeletionTaskRepository.lockDueTasks(now, maxAttempts, batchSize);
+        
+        // Lease the rows so that another drainer does not pick them up while S3 is being called
+        for (S3DeletionTask task : tasks) {
+            task.setAttempts(task.getAttempts() + 1);
+            task.setNextAttemptAt(now.plus(backoff(task.getAttempts())));
+        }
+        
+        return tasks;
+    }
+    
+    private void recordOutcome(List<S3DeletionTask> claimed, Set<String> failedKeys) {
+        List<UUID> deletedIds = claimed.stream()
+                .filter(task -> !failedKeys.contains(task.getFileKey()))
+                .map(S3DeletionTask::getId)
+                .toList();
+        s3DeletionTaskRepository.deleteAllByIdInBatch(deletedIds);
+        
+        if (failedKeys.isEmpty()) {
+            return;
+        }
+        
+        // Failed rows keep the lease set in claimBatch as their retry time
+        List<S3DeletionTask> failedTasks = claimed.stream()
+                .filter(task -> failedKeys.contains(task.getFileKey()))
+                .toList();
+        for (S3DeletionTask task : failedTasks) {
+            task.setLastError("DeleteObjects failed on attempt " + task.getAttempts());
+            if (task.getAttempts() >= maxAttempts) {
+                logger.error("Giving up deleting file from S3 after {} attempts: {}", task.getAttempts(), task.getFileKey());
+            }
+        }
+        s3DeletionTaskRepository.saveAll(failedTasks);
+    }
+    
+    private Duration backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 16);
+        return Duration.ofMillis(Math.min(delay, MAX_BACKOFF.toMillis()));
+    }
+}
@@ -1,19 +1,34 @@
 package com.linkuni.backend.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.ResponsePublisher;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
@@ -22,15 +37,27 @@ import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequ
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
-public class S3Service {
+public class S3Service implements DisposableBean {
     private static final Logger logger = LoggerFactory.getLogger(S3Service.class);
     
+    // S3 DeleteObjects accepts at most 1000 keys per request
+    public static final int MAX_KEYS_PER_DELETE = 1000;
+    
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final S3Presigner s3Presigner;
+    private final ObservationRegistry observationRegistry;
     
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -41,19 +68,42 @@ public class S3Service {
     public S3Service(
             @Value("${aws.region}") String region,
             @Value("${aws.s3.access-key-id}") String accessKeyId,
-            @Value("${aws.s3.secret-access-key}") String secretAccessKey) {
+            @Value("${aws.s3.secret-access-key}") String secretAccessKey,
+            @Value("${aws.s3.endpoint-override:}") String endpointOverride,
+            @Value("${aws.s3.async.max-concurrency:200}") int asyncMaxConcurrency,
+            ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
         
         AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
+        StaticCredentialsProvider credentialsProvider = StaticCredentialsProvider.create(awsCredentials);
         
-        this.s3Client = S3Client.builder()
+        S3ClientBuilder clientBuilder = S3Client.builder()
                 .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                .build();
+                .credentialsProvider(credentialsProvider);
         
-        this.s3Presigner = S3Presigner.builder()
+        // Non-blocking transfers share a small pool of Netty event loop threads
+        S3AsyncClientBuilder asyncClientBuilder = S3AsyncClient.builder()
                 .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                .build();
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(asyncMaxConcurrency));
+        
+        S3Presigner.Builder presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider);
+        
+        // S3-compatible stores such as MinIO are addressed by path rather than by bucket subdomain
+        if (!endpointOverride.isEmpty()) {
+            URI endpointUri = URI.create(endpointOverride);
+            clientBuilder.endpointOverride(endpointUri).forcePathStyle(true);
+            asyncClientBuilder.endpointOverride(endpointUri).forcePathStyle(true);
+            presignerBuilder.endpointOverride(endpointUri)
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        
+        this.s3Client = clientBuilder.build();
+        this.s3AsyncClient = asyncClientBuilder.build();
+        this.s3Presigner = presignerBuilder.build();
         
         logger.info("S3 client initialized with region: {}", region);
     }
@@ -66,16 +116,7 @@ public class S3Service {
      * @throws IOException if file cannot be read
      */
     public S3FileDetails uploadFile(MultipartFile file) throws IOException {
-        // Generate a unique key for the file
-        String timestamp = String.valueOf(Instant.now().getEpochSecond());
-        String originalFileName = file.getOriginalFilename();
-        String fileExtension = "";
-        
-        if (originalFileName != null && originalFileName.contains(".")) {
-            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-        }
-        
-        String fileKey = timestamp + "__" + sanitizeFileName(originalFileName);
+        String fileKey = generateFileKey(file.getOriginalFilename());
         
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(bucketName)
@@ -83,18 +124,52 @@ public class S3Service {
                 .contentType(file.getContentType())
                 .build();
         
-        PutObjectResponse response = s3Client.putObject(
-                putObjectRequest,
-                RequestBody.fromBytes(file.getBytes())
-        );
+        RequestBody requestBody = RequestBody.fromBytes(file.getBytes());
+        Observation observation = startRequest("put");
+        PutObjectResponse response;
+        try {
+            response = s3Client.putObject(putObjectRequest, requestBody);
+            stopRequest(observation, null);
+        } catch (RuntimeException e) {
+            stopRequest(observation, e);
+            throw e;
+        }
         
-        logger.info("File uploaded to S3: {}, ETag: {}", fileKey, response.eTag());
+        logger.debug("File uploaded to S3: {}, ETag: {}", fileKey, response.eTag());
         
         String fileUrl = endpoint + "/" + bucketName + "/" + fileKey;
         
         return new S3FileDetails(fileKey, fileUrl);
     }
     
+    /**
+     * Stores a file derived from an uploaded one, such as a thumbnail, under the given key.
+     * Derived keys are never reused for different content, so the file may be cached indefinitely.
+     * 
+     * @param fileKey the key to store the file under
+     * @param content the content of the file
+     * @param contentType the MIME type of the content
+     */
+    public void uploadDerivedFile(String fileKey, byte[] content, String contentType) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileKey)
+                .contentType(contentType)
+                .cacheControl("public, max-age=31536000, immutable")
+                .build();
+        
+        Observation observation = startRequest("put");
+        try {
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content));
+            stopRequest(observation, null);
+        } catch (RuntimeException e) {
+            stopRequest(observation, e);
+            throw e;
+        }
+        
+        logger.debug("Derived file uploaded to S3: {} ({} bytes)", fileKey, content.length);
+    }
+    
     /**
      * Downloads a file from S3 bucket
      * 
@@ -103,21 +178,81 @@ public class S3Service {
      * @throws IOException if the file cannot be downloaded
      */
     public InputStream downloadFile(String fileKey) throws IOException {
-        logger.info("Downloading file from S3: {}", fileKey);
+        logger.debug("Downloading file from S3: {}", fileKey);
         
+        Observation observation = startRequest("get");
         try {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
                     .key(fileKey)
                     .build();
             
-            return s3Client.getObject(getObjectRequest, ResponseTransformer.toInputStream());
+            InputStream content = s3Client.getObject(getObjectRequest, ResponseTransformer.toInputStream());
+            stopRequest(observation, null);
+            return content;
         } catch (Exception e) {
+            stopRequest(observation, e);
             logger.error("Error downloading file from S3: {}", e.getMessage(), e);
             throw new IOException("Failed to download file: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Uploads a file to S3 bucket without blocking the calling thread while the data is sent
+     * 
+     * @param file the file to upload
+     * @return future completed with the S3FileDetails once S3 has stored the file
+     * @throws IOException if file cannot be read
+     */
+    public CompletableFuture<S3FileDetails> uploadFileAsync(MultipartFile file) throws IOException {
+        String fileKey = generateFileKey(file.getOriginalFilename());
+        
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileKey)
+                .contentType(file.getContentType())
+                .build();
+        
+        // The upload is sent from a copy on disk, read through an asynchronous file channel as the
+        // connection takes it, so concurrent transfers hold neither the whole file in memory nor a
+        // thread each. The multipart temp file cannot be used directly, as its path is not exposed.
+        Path stagedFile;
+        try (InputStream content = file.getInputStream()) {
+            stagedFile = StagedFiles.stage(content, "linkuni-upload-", ".tmp");
+        }
+        
+        Observation observation = startRequest("put");
+        return s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromFile(stagedFile))
+                .whenComplete((response, error) -> {
+                    stopRequest(observation, error);
+                    StagedFiles.delete(stagedFile);
+                })
+                .thenApply(response -> {
+                    logger.debug("File uploaded to S3: {}, ETag: {}", fileKey, response.eTag());
+                    return new S3FileDetails(fileKey, endpoint + "/" + bucketName + "/" + fileKey);
+                });
+    }
+    
+    /**
+     * Starts a non-blocking download of a file from S3 bucket
+     * 
+     * @param fileKey the key of the file to download
+     * @return future completed when S3 has answered, with a publisher of the file content
+     *         that is read as fast as its subscriber requests it
+     */
+    public CompletableFuture<ResponsePublisher<GetObjectResponse>> downloadFileAsync(String fileKey) {
+        logger.debug("Downloading file from S3 asynchronously: {}", fileKey);
+        
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileKey)
+                .build();
+        
+        Observation observation = startRequest("get");
+        return s3AsyncClient.getObject(getObjectRequest, AsyncResponseTransformer.toPublisher())
+                .whenComplete((publisher, error) -> stopRequest(observation, error));
+    }
+    
     /**
      * Deletes a file from S3 bucket
      * 
@@ -125,8 +260,9 @@ public class S3Service {
      * @throws IOException if the file cannot be deleted
      */
     public void deleteFile(String fileKey) throws IOException {
-        logger.info("Deleting file from S3: {}", fileKey);
+        logger.debug("Deleting file from S3: {}", fileKey);
         
+        Observation observation = startRequest("delete");
         try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
                     .bucket(bucketName)
@@ -134,13 +270,55 @@ public class S3Service {
                     .build();
             
             s3Client.deleteObject(deleteObjectRequest);
-            logger.info("File deleted from S3: {}", fileKey);
+            stopRequest(observation, null);
+            logger.debug("File deleted from S3: {}", fileKey);
         } catch (Exception e) {
+            stopRequest(observation, e);
             logger.error("Error deleting file from S3: {}", e.getMessage(), e);
             throw new IOException("Failed to delete file: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Deletes multiple files from S3 bucket using batched DeleteObjects requests
+     * 
+     * @param fileKeys the keys of the files to delete
+     * @return the keys that could not be deleted
+     */
+    public List<String> deleteFiles(List<String> fileKeys) {
+        List<String> failedKeys = new ArrayList<>();
+        
+        for (int start = 0; start < fileKeys.size(); start += MAX_KEYS_PER_DELETE) {
+            List<String> batch = fileKeys.subList(start, Math.min(start + MAX_KEYS_PER_DELETE, fileKeys.size()));
+            
+            List<ObjectIdentifier> objects = batch.stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            
+            Observation observation = startRequest("delete_batch");
+            try {
+                DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder().objects(objects).quiet(true).build())
+                        .build();
+                
+                DeleteObjectsResponse response = s3Client.deleteObjects(deleteObjectsRequest);
+                stopRequest(observation, null);
+                response.errors().forEach(error -> {
+                    logger.warn("Error deleting file from S3: {} ({}: {})", error.key(), error.code(), error.message());
+                    failedKeys.add(error.key());
+                });
+                logger.info("Deleted {} of {} files from S3", batch.size() - response.errors().size(), batch.size());
+            } catch (Exception e) {
+                stopRequest(observation, e);
+                logger.error("Error deleting batch of {} files from S3: {}", batch.size(), e.getMessage(), e);
+                failedKeys.addAll(batch);
+            }
+        }
+        
+        return failedKeys;
+    }
+    
     /**
      * Generates a presigned URL for temporary file access
      * 
@@ -149,7 +327,7 @@ public class S3Service {
      * @return presigned URL for direct file access
      */
     public String generatePresignedUrl(String fileKey, int expirationMinutes) {
-        logger.info("Generating presigned URL for file: {}", fileKey);
+        logger.debug("Generating presigned URL for file: {}", fileKey);
         
         try {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
@@ -165,7 +343,7 @@ public class S3Service {
             PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
             String presignedUrl = presignedRequest.url().toString();
             
-            logger.info("Presigned URL generated: {}", presignedUrl);
+            logger.debug("Presigned URL generated for file: {}", fileKey);
             return presignedUrl;
         } catch (Exception e) {
             logger.error("Error generating presigned URL: {}", e.getMessage(), e);
@@ -173,13 +351,60 @@ public class S3Service {
         }
     }
     
+    /**
+     * Starts timing an S3 request, recorded as the s3.requests timer and as a span
+     * 
+     * @param operation the S3 operation, e.g. put or get
+     * @return the started observation
+     */
+    private Observation startRequest(String operation) {
+        return Observation.createNotStarted("s3.requests", observationRegistry)
+                .contextualName("s3 " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("bucket", bucketName)
+                .start();
+    }
+    
+    /**
+     * Completes an S3 request started with startRequest
+     * 
+     * @param observation the observation of the request
+     * @param error the error the request failed with, or null if it succeeded
+     */
+    private void stopRequest(Observation observation, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        observation.lowCardinalityKeyValue("outcome", cause == null ? "SUCCESS" : "ERROR");
+        if (cause != null) {
+            observation.error(cause);
+        }
+        observation.stop();
+    }
+    
+    @Override
+    public void destroy() {
+        s3AsyncClient.close();
+    }
+    
+    /**
+     * Generates a unique key for an uploaded file
+     * 
+     * @param originalFileName the name of the uploaded file
+     * @return the key to store the file under
+     */
+    private String generateFileKey(String originalFileName) {
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        // Keys must never be reused: derived objects such as thumbnails are cached as immutable
+        // under the file's key, and the same name may be uploaded twice within a second
+        return timestamp + "__" + UUID.randomUUID() + "__" + sanitizeFileName(originalFileName);
+    }
+    
     /**
      * Sanitizes a file name to be safe for S3 storage
      * 
      * @param fileName the file name to sanitize
      * @return sanitized file name
      */
-    private String sanitizeFileName(String fileName) {
+    static String sanitizeFileName(String fileName) {
         if (fileName == null) {
             return "unnamed";
         }
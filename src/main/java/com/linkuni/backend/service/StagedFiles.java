@@ -0,0 +1,57 @@
+package com.linkuni.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Temporary copies of files on local disk, used to hand uploads and downloads to work that
+ * outlives the request or would otherwise need the whole file in memory
+ */
+final class StagedFiles {
+    private static final Logger logger = LoggerFactory.getLogger(StagedFiles.class);
+
+    private StagedFiles() {
+    }
+
+    /**
+     * Copies content to a new temporary file
+     *
+     * @param content the content to copy, which is not closed
+     * @param prefix the prefix of the file name
+     * @param suffix the suffix of the file name, e.g. ".pdf"
+     * @return the staged copy, to be removed with {@link #delete(Path)}
+     * @throws IOException if the content cannot be read or written; no file is left behind
+     */
+    static Path stage(InputStream content, String prefix, String suffix) throws IOException {
+        Path stagedFile = Files.createTempFile(prefix, suffix);
+        try {
+            Files.copy(content, stagedFile, StandardCopyOption.REPLACE_EXISTING);
+            return stagedFile;
+        } catch (IOException e) {
+            delete(stagedFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes a staged copy, logging rather than failing if it cannot be removed
+     *
+     * @param stagedFile the staged copy, or null if none was created
+     */
+    static void delete(Path stagedFile) {
+        if (stagedFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(stagedFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete staged file {}: {}", stagedFile, e.getMessage());
+        }
+    }
+}
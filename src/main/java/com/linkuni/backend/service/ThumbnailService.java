@@ -0,0 +1,502 @@
+package com.linkuni.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkuni.backend.config.HandlerConnectionMetricsTrackerFactory;
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.dto.ThumbnailUrlDto;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.repository.PostRepository;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessStreamCache;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates WebP thumbnails of image posts and previews of the first pages of PDF posts, so that
+ * cards need not load the original, and hands out presigned URLs for them.
+ * <p>
+ * Generation starts once the post is committed and runs on a small pool of its own with a
+ * bounded queue; when the queue is full the post simply keeps showing its original. Each job
+ * works on a copy of the upload on local disk, so the queue holds no file contents and the
+ * original is not downloaded again from S3. Images are decoded subsampled to about twice the
+ * largest thumbnail and skipped above a pixel limit, and pages are rendered at that size with
+ * PDFBox reading the document from the file and keeping at most a fixed amount of decoded
+ * streams in memory, so memory use does not grow with the upload. Thumbnails are stored next to the original under keys derived from its
+ * key, and their widths and number of pages are recorded on the post.
+ */
+@Service
+public class ThumbnailService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private static final String WEBP = "image/webp";
+    private static final String PDF = "application/pdf";
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOT_FACTORY =
+            HandlerConnectionMetricsTrackerFactory.backgroundContextSnapshotFactory();
+
+    private final S3Service s3Service;
+    private final PostRepository postRepository;
+    private final S3CleanupService s3CleanupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObservationRegistry observationRegistry;
+    private final ExecutorService executor;
+    private final Counter rejectedCounter;
+    private final Cache<String, ThumbnailUrlDto> urlCache;
+    private final boolean enabled;
+
+    // Largest first, as each size is scaled from the one before
+    private final int[] widths;
+    private final long maxSourcePixels;
+    private final float quality;
+    private final int documentPages;
+    private final RandomAccessStreamCache.StreamCacheCreateFunction documentStreamCache;
+    private final Duration urlValidity;
+
+    public ThumbnailService(S3Service s3Service,
+                            PostRepository postRepository,
+                            S3CleanupService s3CleanupService,
+                            PlatformTransactionManager transactionManager,
+                            ObservationRegistry observationRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.thumbnails.enabled:true}") boolean enabled,
+                            @Value("${app.thumbnails.widths:160,320,640}") int[] widths,
+                            @Value("${app.thumbnails.quality:0.8}") float quality,
+                            @Value("${app.thumbnails.max-source-megapixels:40}") long maxSourceMegapixels,
+                            @Value("${app.thumbnails.document-pages:1}") int documentPages,
+                            @Value("${app.thumbnails.document-memory-mb:16}") long documentMemoryMb,
+                            @Value("${app.thumbnails.pool-size:2}") int poolSize,
+                            @Value("${app.thumbnails.queue-capacity:100}") int queueCapacity,
+                            @Value("${app.thumbnails.url-validity-minutes:60}") long urlValidityMinutes,
+                            @Value("${app.thumbnails.url-cache-max-entries:10000}") long urlCacheMaxEntries) {
+        this.s3Service = s3Service;
+        this.postRepository = postRepository;
+        this.s3CleanupService = s3CleanupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.observationRegistry = observationRegistry;
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).distinct()
+                .boxed().sorted(Collections.reverseOrder()).mapToInt(Integer::intValue).toArray();
+        this.quality = quality;
+        this.maxSourcePixels = maxSourceMegapixels * 1_000_000;
+        this.documentPages = Math.max(1, documentPages);
+        // Decoded document streams beyond this spill to temporary files
+        this.documentStreamCache = MemoryUsageSetting.setupMixed(documentMemoryMb * 1024 * 1024).streamCache;
+        this.urlValidity = Duration.ofMinutes(urlValidityMinutes);
+
+        // libwebp is bundled for the common platforms only
+        boolean writerAvailable = ImageIO.getImageWritersByMIMEType(WEBP).hasNext();
+        if (enabled && !writerAvailable) {
+            logger.warn("No WebP image writer available on this platform, thumbnails are disabled");
+        }
+        this.enabled = enabled && writerAvailable && this.widths.length > 0;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("thumbnail-");
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "thumbnails");
+        this.rejectedCounter = Counter.builder("thumbnails.rejected")
+                .description("Thumbnail jobs dropped because the queue was full")
+                .register(meterRegistry);
+
+        // URLs are shared by all viewers and reused for half their validity, so browsers can cache the images
+        this.urlCache = Caffeine.newBuilder()
+                .maximumSize(urlCacheMaxEntries)
+                .expireAfterWrite(urlValidity.dividedBy(2))
+                .build();
+    }
+
+    /**
+     * Queues thumbnail generation for an image or PDF post that has been committed. The upload is
+     * copied to disk first, as the multipart file is removed when the request completes.
+     *
+     * @param postId the ID of the post
+     * @param fileKey the key of the post's file in S3
+     * @param fileType the MIME type of the file; PDFs are rendered, anything else is decoded as an image
+     * @param upload the uploaded file
+     */
+    public void generateThumbnailsAsync(UUID postId, String fileKey, String fileType, InputStreamSource upload) {
+        if (!enabled) {
+            return;
+        }
+        boolean document = PDF.equals(fileType);
+        Path stagedFile;
+        try (InputStream content = upload.getInputStream()) {
+            stagedFile = StagedFiles.stage(content, "linkuni-thumbnail-", document ? ".pdf" : ".tmp");
+        } catch (IOException e) {
+            logger.error("Error staging post {} for thumbnail generation: {}", postId, e.getMessage(), e);
+            return;
+        }
+
+        // The job deletes the staged file once it is done with it
+        Runnable task = CONTEXT_SNAPSHOT_FACTORY.captureAll()
+                .wrap(() -> generateThumbnails(postId, fileKey, stagedFile, document));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            StagedFiles.delete(stagedFile);
+            rejectedCounter.increment();
+            logger.warn("Thumbnail queue is full, post {} is shown without thumbnails", postId);
+        }
+    }
+
+    /**
+     * Gets a presigned URL of the thumbnail of a page closest to a requested width
+     *
+     * @param postId the ID of the post
+     * @param page the page, starting at 1; images only have page 1
+     * @param width the width the thumbnail will be displayed at
+     * @return ApiResponse with a ThumbnailUrlDto of the smallest thumbnail at least as wide as
+     *         requested, or of the largest there is
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse getThumbnailUrl(UUID postId, int page, int width) {
+        Optional<Post> postOptional = postRepository.findById(postId);
+        if (postOptional.isEmpty()) {
+            logger.warn("Get thumbnail failed: Post not found with ID: {}", postId);
+            return ApiResponse.error("Post doesn't exist!");
+        }
+
+        Post post = postOptional.get();
+        List<Integer> available = post.getThumbnailWidths();
+        int pages = pageCount(post.getThumbnailPages());
+        if (available == null || available.isEmpty() || page < 1 || page > pages) {
+            return ApiResponse.error("Thumbnail not available");
+        }
+
+        int chosen = available.stream()
+                .filter(candidate -> candidate >= width)
+                .min(Integer::compare)
+                .orElse(Collections.max(available));
+        try {
+            ThumbnailUrlDto url = urlCache.get(thumbnailKey(post.getFileKey(), page, chosen), key -> {
+                Instant expiresAt = Instant.now().plus(urlValidity);
+                return new ThumbnailUrlDto(s3Service.generatePresignedUrl(key, (int) urlValidity.toMinutes()),
+                        page, pages, chosen, expiresAt);
+            });
+            return ApiResponse.success("Thumbnail URL generated successfully", url);
+        } catch (Exception e) {
+            logger.error("Error generating thumbnail URL: {}", e.getMessage(), e);
+            return ApiResponse.error("Error generating thumbnail URL: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Derives the S3 key of a thumbnail from the key of the original file
+     *
+     * @param fileKey the key of the original file
+     * @param page the page, starting at 1; page 1 of a document is keyed like an image thumbnail
+     * @param width the width of the thumbnail
+     * @return the key of the thumbnail
+     */
+    public static String thumbnailKey(String fileKey, int page, int width) {
+        String pageSuffix = page == 1 ? "" : ".page-" + page;
+        return fileKey + pageSuffix + ".thumb-" + width + ".webp";
+    }
+
+    /**
+     * @param fileKey the key of the original file
+     * @param widths the recorded widths of its thumbnails, possibly null
+     * @param pages the recorded number of pages, null for images
+     * @return the keys of all of its thumbnails
+     */
+    public static List<String> thumbnailKeys(String fileKey, List<Integer> widths, Integer pages) {
+        List<String> keys = new ArrayList<>();
+        if (fileKey != null && widths != null) {
+            for (int page = 1; page <= pageCount(pages); page++) {
+                for (int width : widths) {
+                    keys.add(thumbnailKey(fileKey, page, width));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static int pageCount(Integer pages) {
+        return pages == null ? 1 : pages;
+    }
+
+    private void generateThumbnails(UUID postId, String fileKey, Path content, boolean document) {
+        // A child of the upload's trace, whose context is carried over with the task
+        Observation observation = Observation.createNotStarted("thumbnails.generation", observationRegistry)
+                .contextualName("generate thumbnails")
+                .lowCardinalityKeyValue("source", document ? "pdf" : "image")
+                .highCardinalityKeyValue("post.id", postId.toString())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            // Encoded thumbnails by width, per page; only one page is decoded at a time
+            List<Map<Integer, byte[]>> pages = document ? renderDocument(content) : List.of(encode(decode(content)));
+            List<Integer> stored = store(fileKey, pages);
+            Integer pageCount = document ? pages.size() : null;
+            transactionTemplate.executeWithoutResult(status -> record(postId, fileKey, stored, pageCount));
+        } catch (Exception e) {
+            observation.error(e);
+            logger.error("Error generating thumbnails for post {}: {}", postId, e.getMessage(), e);
+        } finally {
+            observation.stop();
+            StagedFiles.delete(content);
+        }
+    }
+
+    /**
+     * Decodes an image, reading only every n-th pixel of large ones
+     *
+     * @param content the file holding the encoded image
+     * @return the image, at least twice as wide as the largest thumbnail unless the original is smaller
+     * @throws IOException if the format is not supported, the image is too large or cannot be read
+     */
+    private BufferedImage decode(Path content) throws IOException {
+        try (ImageInputStream input = new FileImageInputStream(content.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IOException("Image of " + width + "x" + height + " pixels exceeds the limit of "
+                            + maxSourcePixels + " pixels");
+                }
+
+                int step = Math.max(1, width / (2 * widths[0]));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Renders the first pages of a PDF at twice the width of the largest thumbnail and encodes
+     * their thumbnails
+     *
+     * @param content the file holding the PDF, which is read as needed rather than loaded
+     * @return the encoded thumbnails by width, per page
+     * @throws IOException if the document cannot be read or rendered
+     */
+    private List<Map<Integer, byte[]>> renderDocument(Path content) throws IOException {
+        try (PDDocument document = Loader.loadPDF(content.toFile(), documentStreamCache)) {
+            PDFRenderer renderer = new PDFRenderer(document);
+            // Embedded images are read at the resolution they are drawn at rather than in full
+            renderer.setSubsamplingAllowed(true);
+
+            int pageCount = Math.min(documentPages, document.getNumberOfPages());
+            if (pageCount == 0) {
+                throw new IOException("Document has no pages");
+            }
+            List<Map<Integer, byte[]>> pages = new ArrayList<>(pageCount);
+            for (int index = 0; index < pageCount; index++) {
+                float scale = renderScale(document.getPage(index));
+                pages.add(encode(renderer.renderImage(index, scale, ImageType.RGB)));
+            }
+            return pages;
+        }
+    }
+
+    /**
+     * @param page a page of a document
+     * @return the factor from points to pixels that renders the page at twice the width of the
+     *         largest thumbnail, or narrower if that would exceed the pixel limit
+     */
+    private float renderScale(PDPage page) {
+        PDRectangle box = page.getCropBox();
+        boolean sideways = page.getRotation() % 180 != 0;
+        float width = sideways ? box.getHeight() : box.getWidth();
+        float height = sideways ? box.getWidth() : box.getHeight();
+
+        float scale = 2f * widths[0] / width;
+        double pixels = (double) width * height * scale * scale;
+        if (pixels > maxSourcePixels) {
+            scale *= (float) Math.sqrt(maxSourcePixels / pixels);
+        }
+        return scale;
+    }
+
+    /**
+     * Scales and encodes the thumbnails, never wider than the source
+     *
+     * @param source the decoded image
+     * @return the encoded thumbnails by width, largest first
+     * @throws IOException if encoding fails
+     */
+    private Map<Integer, byte[]> encode(BufferedImage source) throws IOException {
+        Map<Integer, byte[]> thumbnails = new LinkedHashMap<>();
+        BufferedImage image = source;
+        for (int width : widths) {
+            if (width <= source.getWidth()) {
+                image = scale(image, width);
+                thumbnails.put(width, write(image));
+            }
+        }
+        // Images narrower than every thumbnail are still converted, at their own width
+        if (thumbnails.isEmpty()) {
+            thumbnails.put(source.getWidth(), write(scale(source, source.getWidth())));
+        }
+        return thumbnails;
+    }
+
+    /**
+     * Stores the thumbnails of every page in the widths all pages have, queueing the ones already
+     * stored for deletion if one fails
+     *
+     * @param fileKey the key of the original file
+     * @param pages the encoded thumbnails by width, per page
+     * @return the stored widths in ascending order
+     * @throws IOException if the pages have no width in common
+     */
+    private List<Integer> store(String fileKey, List<Map<Integer, byte[]>> pages) throws IOException {
+        // Pages of unusual shapes may be rendered too narrow for the largest sizes
+        Set<Integer> common = new HashSet<>(pages.get(0).keySet());
+        pages.forEach(thumbnails -> common.retainAll(thumbnails.keySet()));
+        if (common.isEmpty()) {
+            throw new IOException("Pages have no thumbnail width in common");
+        }
+
+        List<String> storedKeys = new ArrayList<>();
+        try {
+            for (int page = 1; page <= pages.size(); page++) {
+                for (int width : common) {
+                    String key = thumbnailKey(fileKey, page, width);
+                    s3Service.uploadDerivedFile(key, pages.get(page - 1).get(width), WEBP);
+                    storedKeys.add(key);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (!storedKeys.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> s3CleanupService.enqueue(storedKeys));
+            }
+            throw e;
+        }
+        List<Integer> stored = new ArrayList<>(common);
+        Collections.sort(stored);
+        return stored;
+    }
+
+    private void record(UUID postId, String fileKey, List<Integer> stored, Integer pages) {
+        Optional<Post> postOptional = postRepository.findById(postId);
+        if (postOptional.isEmpty() || !fileKey.equals(postOptional.get().getFileKey())) {
+            logger.info("Post {} was deleted during thumbnail generation, discarding the thumbnails", postId);
+            s3CleanupService.enqueue(thumbnailKeys(fileKey, stored, pages));
+            return;
+        }
+        postOptional.get().setThumbnailWidths(stored);
+        postOptional.get().setThumbnailPages(pages);
+        logger.info("Thumbnails {} of {} page(s) stored for post: {}", stored, pageCount(pages), postId);
+    }
+
+    /**
+     * Scales an image to a width, halving it in steps so that bilinear filtering sees every pixel
+     *
+     * @param image the image to scale
+     * @param width the target width, at most that of the image
+     * @return a new RGB image, with alpha if the source has it
+     */
+    private static BufferedImage scale(BufferedImage image, int width) {
+        BufferedImage scaled = image;
+        do {
+            int stepWidth = Math.max(width, scaled.getWidth() / 2);
+            int stepHeight = Math.max(1, (int) Math.round((double) scaled.getHeight() * stepWidth / scaled.getWidth()));
+            int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+            BufferedImage next = new BufferedImage(stepWidth, stepHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(scaled, 0, 0, stepWidth, stepHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            scaled = next;
+        } while (scaled.getWidth() > width);
+        return scaled;
+    }
+
+    private byte[] write(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType(WEBP).next();
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionType("Lossy");
+            param.setCompressionQuality(quality);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            return out.toByteArray();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            int dropped = executor.shutdownNow().size();
+            logger.warn("Thumbnail generation stopped with {} posts still queued", dropped);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.linkuni.backend.service;
+
+import com.linkuni.backend.dto.ApiResponse;
+import com.linkuni.backend.dto.PostDto;
+import com.linkuni.backend.model.Post;
+import com.linkuni.backend.model.User;
+import com.linkuni.backend.repository.TimelineEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Home timelines ("posts from people I follow"). Uploads are fanned out on write into
+ * each follower's timeline_entries; authors with more followers than the fan-out limit
+ * are skipped on write and merged in on read instead.
+ */
+@Service
+public class TimelineService {
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Value("${app.timeline.fan-out-max-followers:5000}")
+    private int fanOutMaxFollowers;
+
+    @Value("${app.timeline.max-entries:500}")
+    private int maxEntries;
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final PostDtoAssembler postDtoAssembler;
+
+    public TimelineService(TimelineEntryRepository timelineEntryRepository, PostDtoAssembler postDtoAssembler) {
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.postDtoAssembler = postDtoAssembler;
+    }
+
+    /**
+     * Appends a new post to the timelines of the author's followers
+     *
+     * @param post the saved post
+     * @param author the author of the post
+     */
+    @Transactional
+    public void fanOut(Post post, User author) {
+        if (!shouldFanOut(author)) {
+            logger.debug("Skipping fan-out for post {}: author {} is read on demand", post.getPostId(), author.getUserId());
+            return;
+        }
+
+        LocalDateTime postedAt = post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now();
+        int delivered = timelineEntryRepository.fanOutToFollowers(post.getPostId(), author.getUserId(), postedAt);
+        logger.debug("Post {} fanned out to {} timelines", post.getPostId(), delivered);
+    }
+
+    /**
+     * Seeds a follower's timeline with the recent posts of a newly followed user
+     *
+     * @param followerId the ID of the follower
+     * @param author the followed user
+     */
+    @Transactional
+    public void onFollow(UUID followerId, User author) {
+        if (shouldFanOut(author)) {
+            timelineEntryRepository.backfillFromAuthor(followerId, author.getUserId(), maxEntries);
+        }
+    }
+
+    /**
+     * Removes an unfollowed user's posts from the follower's timeline
+     *
+     * @param followerId the ID of the follower
+     * @param authorId the ID of the unfollowed user
+     */
+    @Transactional
+    public void onUnfollow(UUID followerId, UUID authorId) {
+        timelineEntryRepository.deleteByFollowerAndAuthor(followerId, authorId);
+    }
+
+    /**
+     * Removes a deleted post from every timeline
+     *
+     * @param postId the ID of the post
+     */
+    @Transactional
+    public void removePost(UUID postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+    }
+
+    /**
+     * Drops a user's timeline and their posts from other timelines
+     *
+     * @param userId the ID of the user being deleted
+     */
+    @Transactional
+    public void removeUser(UUID userId) {
+        timelineEntryRepository.deleteAllForUser(userId);
+    }
+
+    /**
+     * Trims every timeline to its newest entries
+     *
+     * @return the number of entries removed
+     */
+    @Scheduled(fixedDelayString = "${app.timeline.trim-interval-ms:3600000}")
+    @Transactional
+    public int trimTimelines() {
+        int trimmed = timelineEntryRepository.trimTimelines(maxEntries);
+        if (trimmed > 0) {
+            logger.info("Trimmed {} timeline entries", trimmed);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Gets a page of the viewer's home timeline, newest first
+     *
+     * @param viewerId the ID of the viewing user
+     * @param page zero-based page number
+     * @param size page size
+     * @return ApiResponse with the posts of the requested page
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse getTimeline(UUID viewerId, int page, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = Math.max(0, page) * limit;
+
+        try {
+            List<UUID> postIds = timelineEntryRepository.findTimelinePostIds(
+                    viewerId, fanOutMaxFollowers, offset + limit, limit, offset);
+            List<PostDto> postDtos = postDtoAssembler.toPostDtos(postIds);
+
+            logger.debug("Timeline page {} for user {} returned {} posts", page, viewerId, postDtos.size());
+            return ApiResponse.success("Timeline retrieved successfully", postDtos);
+        } catch (Exception e) {
+            logger.error("Error retrieving timeline: {}", e.getMessage(), e);
+            return ApiResponse.error("Error retrieving timeline: " + e.getMessage());
+        }
+    }
+
+    private boolean shouldFanOut(User author) {
+        Integer followerCount = author.getFollowerCount();
+        return followerCount == null || followerCount <= fanOutMaxFollowers;
+    }
+}
@@ -6,17 +6,20 @@ import com.linkuni.backend.dto.ShareSpaceProfileRequest;
 import com.linkuni.backend.dto.ShareSpaceUsernameRequest;
 import com.linkuni.backend.dto.UpdateUserRequest;
 import com.linkuni.backend.dto.UserDto;
-import com.linkuni.backend.model.Post;
 import com.linkuni.backend.model.User;
+import com.linkuni.backend.repository.PostReportRepository;
 import com.linkuni.backend.repository.PostRepository;
+import com.linkuni.backend.repository.PostScoreRepository;
+import com.linkuni.backend.repository.SummaryRepository;
+import com.linkuni.backend.repository.TextExtractRepository;
 import com.linkuni.backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -30,14 +33,32 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final PostRepository postRepository;
-    private final S3Service s3Service;
+    private final SummaryRepository summaryRepository;
+    private final TextExtractRepository textExtractRepository;
+    private final S3CleanupService s3CleanupService;
+    private final EntityCacheService entityCacheService;
+    private final PostScoreRepository postScoreRepository;
+    private final TimelineService timelineService;
+    private final PostReportRepository postReportRepository;
+    private final FacetService facetService;
     
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, 
-                      PostRepository postRepository, S3Service s3Service) {
+                      PostRepository postRepository, SummaryRepository summaryRepository,
+                      TextExtractRepository textExtractRepository, S3CleanupService s3CleanupService,
+                      EntityCacheService entityCacheService, PostScoreRepository postScoreRepository,
+                      TimelineService timelineService, PostReportRepository postReportRepository,
+                      FacetService facetService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.postRepository = postRepository;
-        this.s3Service = s3Service;
+        this.summaryRepository = summaryRepository;
+        this.textExtractRepository = textExtractRepository;
+        this.s3CleanupService = s3CleanupService;
+        this.entityCacheService = entityCacheService;
+        this.postScoreRepository = postScoreRepository;
+        this.timelineService = timelineService;
+        this.postReportRepository = postReportRepository;
+        this.facetService = facetService;
     }
     
     /**
@@ -139,6 +160,7 @@ public class UserService {
      * @param connectionType the type of connection ("followers" or "followings")
      * @return ApiResponse with the list of connected users
      */
+    @Transactional(readOnly = true)
     public ApiResponse getUserConnections(UUID userId, String connectionType) {
         Optional<User> userOptional = userRepository.findById(userId);
         
@@ -166,7 +188,7 @@ public class UserService {
                 .map(UserDto::fromUser)
                 .collect(Collectors.toList());
         
-        logger.info("Retrieved {} {} for user: {}", connections.size(), connectionType, user.getEmail());
+        logger.debug("Retrieved {} {} for user: {}", connections.size(), connectionType, user.getEmail());
         return ApiResponse.success(connectionType + " retrieved successfully", connections);
     }
     
@@ -209,6 +231,9 @@ public class UserService {
         
         userRepository.save(follower);
         userRepository.save(targetUser);
+        userRepository.adjustFollowerCount(targetUserId, 1);
+        entityCacheService.evictUser(targetUserId);
+        timelineService.onFollow(followerId, targetUser);
         
         logger.info("User followed successfully. Follower: {}, Target: {}", 
                 follower.getEmail(), targetUser.getEmail());
@@ -256,6 +281,9 @@ public class UserService {
         
         userRepository.save(follower);
         userRepository.save(targetUser);
+        userRepository.adjustFollowerCount(targetUserId, -1);
+        entityCacheService.evictUser(targetUserId);
+        timelineService.onUnfollow(followerId, targetUserId);
         
         logger.info("User unfollowed successfully. Follower: {}, Target: {}", 
                 follower.getEmail(), targetUser.getEmail());
@@ -330,49 +358,58 @@ public class UserService {
     }
     
     /**
-     * Deletes a user and their associated data
+     * Deletes a user and their associated data.
+     * All rows are removed with set-based statements inside the transaction; the user's
+     * S3 objects are queued in the deletion outbox and removed after the commit.
      * 
      * @param userId the ID of the user to delete
      * @return ApiResponse indicating success or failure
      */
     @Transactional
     public ApiResponse deleteUser(UUID userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        
-        if (userOptional.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             logger.warn("Delete user failed: User not found with ID: {}", userId);
             return ApiResponse.error("User not found");
         }
         
-        User user = userOptional.get();
-        
         try {
-            // Delete all posts by the user first
-            List<Post> userPosts = postRepository.findByUser_UserId(userId);
+            // Collect file keys, including those of thumbnails, before the posts are gone
+            List<String> fileKeys = new ArrayList<>(postRepository.findFileKeysByUserId(userId));
+            postRepository.findThumbnailsByUserId(userId).forEach(row -> fileKeys.addAll(ThumbnailService.thumbnailKeys(
+                    row.getFileKey(), row.getThumbnailWidths(), row.getThumbnailPages())));
             
-            // Delete files from S3 for each post
-            for (Post post : userPosts) {
-                String fileKey = post.getFileKey();
-                if (fileKey != null && !fileKey.isEmpty()) {
-                    try {
-                        s3Service.deleteFile(fileKey);
-                    } catch (IOException e) {
-                        logger.warn("Error deleting file from S3 for post {}: {}", post.getPostId(), e.getMessage());
-                        // Continue with deletion even if S3 delete fails
-                    }
-                }
-            }
+            // Rows that reference the user's posts
+            summaryRepository.deleteAllByPostOwner(userId);
+            textExtractRepository.deleteAllByPostOwner(userId);
+            postRepository.deleteLikesOnPostsOfUser(userId);
+            postScoreRepository.deleteAllByAuthorId(userId);
+            timelineService.removeUser(userId);
+            postReportRepository.decrementReportCountsByReporter(userId);
+            entityCacheService.evictAllPosts();
+            postReportRepository.deleteAllForUser(userId);
+            userRepository.deleteSavedPostEntries(userId);
+            userRepository.deleteBlacklistedPostEntries(userId);
+            
+            // Rows that reference the user
+            postRepository.deleteLikesByUser(userId);
+            userRepository.decrementFollowerCountsFollowedBy(userId);
+            entityCacheService.evictAllUsers();
+            userRepository.deleteFollowerEntries(userId);
+            userRepository.deleteFollowingEntries(userId);
+            userRepository.deletePostEntries(userId);
             
-            // Delete all posts
-            postRepository.deleteAll(userPosts);
+            int deletedPosts = postRepository.deleteAllByUserId(userId);
+            facetService.invalidate();
+            userRepository.deleteByUserId(userId);
             
-            // Delete the user
-            userRepository.delete(user);
+            // Files are removed from S3 by the outbox drainer once the deletion is committed
+            s3CleanupService.enqueue(fileKeys);
             
-            logger.info("User deleted: {}", user.getEmail());
+            logger.info("User deleted: {} ({} posts)", userId, deletedPosts);
             return ApiResponse.success("User deleted!", null);
         } catch (Exception e) {
             logger.error("Error deleting user: {}", e.getMessage(), e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return ApiResponse.error("Error deleting user: " + e.getMessage());
         }
     }
@@ -383,6 +420,7 @@ public class UserService {
      * @param userId the ID of the user to retrieve
      * @return ApiResponse with the user information
      */
+    @Transactional(readOnly = true)
     public ApiResponse getUserById(UUID userId) {
         Optional<User> userOptional = userRepository.findById(userId);
         
@@ -394,22 +432,34 @@ public class UserService {
         User user = userOptional.get();
         UserDto userDto = UserDto.fromUser(user);
         
-        logger.info("User retrieved: {}", user.getEmail());
+        logger.debug("User retrieved: {}", user.getEmail());
         return ApiResponse.success("User retrieved successfully", userDto);
     }
     
+    /**
+     * Gets the version stamp of a user as returned by getUserById, for use as an ETag
+     * 
+     * @param userId the ID of the user
+     * @return the version stamp, or null if the user doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public String getUserVersion(UUID userId) {
+        return userRepository.findUserVersion(userId).orElse(null);
+    }
+    
     /**
      * Gets all users in the system
      * 
      * @return ApiResponse with a list of all users
      */
+    @Transactional(readOnly = true)
     public ApiResponse getAllUsers() {
         List<User> users = userRepository.findAll();
         List<UserDto> userDtos = users.stream()
                 .map(UserDto::fromUser)
                 .collect(Collectors.toList());
         
-        logger.info("Retrieved all users. Count: {}", users.size());
+        logger.debug("Retrieved all users. Count: {}", users.size());
         return ApiResponse.success("Users retrieved successfully", userDtos);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,135 @@
+-- Baseline schema. Written with IF NOT EXISTS so that databases previously managed by
+-- spring.jpa.hibernate.ddl-auto=update can be brought under Flyway without changes.
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id                      uuid         NOT NULL PRIMARY KEY,
+    username                     varchar(255) NOT NULL UNIQUE,
+    firstname                    varchar(255) NOT NULL,
+    lastname                     varchar(255),
+    email                        varchar(255) NOT NULL UNIQUE,
+    password                     varchar(255) NOT NULL,
+    profile_picture              varchar(255),
+    share_space_profile_username varchar(255),
+    share_space_profile_type     varchar(255),
+    post_count                   integer      NOT NULL DEFAULT 0,
+    follower_count               integer      NOT NULL DEFAULT 0,
+    is_admin                     boolean,
+    is_onboarded                 boolean,
+    program                      varchar(255),
+    year_of_graduation           varchar(255),
+    created_at                   timestamp(6) NOT NULL,
+    updated_at                   timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS posts (
+    post_id        uuid         NOT NULL PRIMARY KEY,
+    title          varchar(255) NOT NULL,
+    description    text,
+    file_url       varchar(255) NOT NULL,
+    file_key       varchar(255) NOT NULL,
+    file_type      varchar(255) NOT NULL,
+    file_name      varchar(255) NOT NULL,
+    program        varchar(255) NOT NULL,
+    course         varchar(255) NOT NULL,
+    resource_type  varchar(255) NOT NULL,
+    is_blacklisted boolean,
+    report_count   integer      NOT NULL DEFAULT 0,
+    user_id        uuid         NOT NULL REFERENCES users (user_id),
+    created_at     timestamp(6) NOT NULL,
+    updated_at     timestamp(6)
+);
+
+-- Columns added after the first ddl-auto schemas were created
+ALTER TABLE users ADD COLUMN IF NOT EXISTS post_count integer NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS follower_count integer NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS report_count integer NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS post_likes (
+    post_id uuid NOT NULL REFERENCES posts (post_id),
+    user_id uuid
+);
+
+CREATE TABLE IF NOT EXISTS user_followers (
+    user_id     uuid NOT NULL REFERENCES users (user_id),
+    follower_id uuid
+);
+
+CREATE TABLE IF NOT EXISTS user_followings (
+    user_id      uuid NOT NULL REFERENCES users (user_id),
+    following_id uuid
+);
+
+CREATE TABLE IF NOT EXISTS user_posts (
+    user_id uuid NOT NULL REFERENCES users (user_id),
+    post_id uuid
+);
+
+CREATE TABLE IF NOT EXISTS user_saved_posts (
+    user_id       uuid NOT NULL REFERENCES users (user_id),
+    saved_post_id uuid
+);
+
+CREATE TABLE IF NOT EXISTS user_blacklisted_posts (
+    user_id             uuid NOT NULL REFERENCES users (user_id),
+    blacklisted_post_id uuid
+);
+
+CREATE TABLE IF NOT EXISTS summaries (
+    id           uuid NOT NULL PRIMARY KEY,
+    post_id      uuid UNIQUE REFERENCES posts (post_id),
+    summary_text text,
+    created_at   timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS text_extracts (
+    id             uuid NOT NULL PRIMARY KEY,
+    post_id        uuid UNIQUE REFERENCES posts (post_id),
+    extracted_text text,
+    created_at     timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS s3_deletion_outbox (
+    id              uuid         NOT NULL PRIMARY KEY,
+    file_key        varchar(255) NOT NULL,
+    attempts        integer      NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    last_error      text,
+    created_at      timestamp(6) NOT NULL,
+    updated_at      timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS post_scores (
+    post_id        uuid             NOT NULL PRIMARY KEY,
+    program        varchar(255)     NOT NULL,
+    author_id      uuid             NOT NULL,
+    like_count     integer          NOT NULL,
+    save_count     integer          NOT NULL,
+    download_count integer          NOT NULL,
+    score          double precision NOT NULL,
+    posted_at      timestamp(6)     NOT NULL,
+    refreshed_at   timestamp(6)     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS timeline_entries (
+    user_id   uuid         NOT NULL,
+    post_id   uuid         NOT NULL,
+    author_id uuid         NOT NULL,
+    posted_at timestamp(6) NOT NULL,
+    PRIMARY KEY (user_id, post_id)
+);
+
+CREATE TABLE IF NOT EXISTS post_reports (
+    post_id     uuid         NOT NULL,
+    reporter_id uuid         NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    resolved    boolean      NOT NULL,
+    PRIMARY KEY (post_id, reporter_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_scores_program_score ON post_scores (program, score DESC);
+CREATE INDEX IF NOT EXISTS idx_post_scores_author_score ON post_scores (author_id, score DESC);
+CREATE INDEX IF NOT EXISTS idx_post_scores_score ON post_scores (score DESC);
+CREATE INDEX IF NOT EXISTS idx_timeline_entries_user_posted ON timeline_entries (user_id, posted_at DESC);
+CREATE INDEX IF NOT EXISTS idx_timeline_entries_post ON timeline_entries (post_id);
+CREATE INDEX IF NOT EXISTS idx_post_reports_reporter ON post_reports (reporter_id);
+CREATE INDEX IF NOT EXISTS idx_post_reports_unresolved_created ON post_reports (resolved, created_at);
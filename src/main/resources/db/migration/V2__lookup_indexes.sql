@@ -0,0 +1,42 @@
+-- Indexes for the hot lookup paths. Listings only read non-blacklisted posts, so the
+-- listing indexes are partial and never contain moderated rows.
+
+-- Posts by author: account deletion and file key lookups (all posts), profile listings (visible posts)
+CREATE INDEX IF NOT EXISTS idx_posts_user_id ON posts (user_id);
+CREATE INDEX IF NOT EXISTS idx_posts_visible_user_created
+    ON posts (user_id, created_at DESC) WHERE is_blacklisted = false;
+
+-- Newest-first listings
+CREATE INDEX IF NOT EXISTS idx_posts_visible_created
+    ON posts (created_at DESC) WHERE is_blacklisted = false;
+
+-- filterPosts compares category columns case-insensitively; composites cover the
+-- program + course and program + resource type combinations used by the filter UI
+CREATE INDEX IF NOT EXISTS idx_posts_visible_program_course_created
+    ON posts (lower(program), lower(course), created_at DESC) WHERE is_blacklisted = false;
+CREATE INDEX IF NOT EXISTS idx_posts_visible_program_type_created
+    ON posts (lower(program), lower(resource_type), created_at DESC) WHERE is_blacklisted = false;
+CREATE INDEX IF NOT EXISTS idx_posts_visible_course_created
+    ON posts (lower(course), created_at DESC) WHERE is_blacklisted = false;
+CREATE INDEX IF NOT EXISTS idx_posts_visible_type_created
+    ON posts (lower(resource_type), created_at DESC) WHERE is_blacklisted = false;
+
+-- Superseded by idx_posts_visible_user_created
+DROP INDEX IF EXISTS idx_posts_user_created;
+
+-- summaries.post_id and text_extracts.post_id are covered by their unique constraints
+
+-- Element collections are loaded by owner and cleaned up by value
+CREATE INDEX IF NOT EXISTS idx_post_likes_post ON post_likes (post_id);
+CREATE INDEX IF NOT EXISTS idx_post_likes_user ON post_likes (user_id);
+CREATE INDEX IF NOT EXISTS idx_user_followers_user_follower ON user_followers (user_id, follower_id);
+CREATE INDEX IF NOT EXISTS idx_user_followers_follower ON user_followers (follower_id);
+CREATE INDEX IF NOT EXISTS idx_user_followings_user_following ON user_followings (user_id, following_id);
+CREATE INDEX IF NOT EXISTS idx_user_followings_following ON user_followings (following_id);
+CREATE INDEX IF NOT EXISTS idx_user_posts_user ON user_posts (user_id);
+CREATE INDEX IF NOT EXISTS idx_user_saved_posts_user ON user_saved_posts (user_id);
+CREATE INDEX IF NOT EXISTS idx_user_saved_posts_post ON user_saved_posts (saved_post_id);
+CREATE INDEX IF NOT EXISTS idx_user_blacklisted_posts_user ON user_blacklisted_posts (user_id);
+
+-- Outbox drainer claims due tasks in next_attempt_at order
+CREATE INDEX IF NOT EXISTS idx_s3_deletion_outbox_due ON s3_deletion_outbox (next_attempt_at);
@@ -0,0 +1,3 @@
+-- Widths of the WebP thumbnails generated for image posts, stored next to the original file.
+-- NULL until generation has finished, and for posts without thumbnails.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS thumbnail_widths integer[];
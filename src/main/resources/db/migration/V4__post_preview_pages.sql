@@ -0,0 +1,3 @@
+-- Number of document pages rendered as WebP previews at the widths in thumbnail_widths.
+-- NULL for posts without previews and for image posts, which have a single page.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS thumbnail_pages integer;
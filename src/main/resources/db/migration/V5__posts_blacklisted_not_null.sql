@@ -0,0 +1,6 @@
+-- Posts saved before the column had a default may have is_blacklisted NULL. They were listed as
+-- visible, but the queries and partial indexes filter on is_blacklisted = false, which excludes
+-- NULL; store them as not blacklisted and keep NULL out from now on.
+UPDATE posts SET is_blacklisted = false WHERE is_blacklisted IS NULL;
+ALTER TABLE posts ALTER COLUMN is_blacklisted SET DEFAULT false;
+ALTER TABLE posts ALTER COLUMN is_blacklisted SET NOT NULL;
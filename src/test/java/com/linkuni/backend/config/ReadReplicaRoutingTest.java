@@ -0,0 +1,111 @@
+package com.linkuni.backend.config;
+
+import com.linkuni.backend.repository.UserRepository;
+import com.linkuni.backend.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks which database serves each read when a replica is configured. The replica is a second,
+ * independent PostgreSQL server, and a user is inserted into it alone, so finding that user shows
+ * that a read went to the replica and missing it shows that it went to the primary.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    private static final UUID REPLICA_ONLY_USER_ID = UUID.randomUUID();
+
+    private static final EmbeddedPostgres primary = startPostgres();
+    private static final EmbeddedPostgres replica = startPostgres();
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> primary.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("app.datasource.replica.urls", () -> replica.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @BeforeAll
+    static void prepareReplica() {
+        Flyway.configure().dataSource(replica.getPostgresDatabase()).load().migrate();
+        new JdbcTemplate(replica.getPostgresDatabase()).update(
+                "INSERT INTO users (user_id, username, firstname, email, password, created_at) "
+                        + "VALUES (?, 'replica-only', 'Replica', 'replica-only@example.com', 'not-a-real-hash', now())",
+                REPLICA_ONLY_USER_ID);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        primary.close();
+        replica.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void readOnlyTransactionReadsFromTheReplica() {
+        assertThat(userService.getUserById(REPLICA_ONLY_USER_ID).getStatus()).isEqualTo("success");
+    }
+
+    @Test
+    void readWriteTransactionReadsFromThePrimary() {
+        Boolean found = transactionTemplate.execute(status -> userRepository.findById(REPLICA_ONLY_USER_ID).isPresent());
+        assertThat(found).isFalse();
+    }
+
+    @Test
+    void readAfterAWriteReadsFromThePrimary() throws Exception {
+        mockMvc.perform(get("/api/v1/user/{userId}", REPLICA_ONLY_USER_ID))
+                .andExpect(status().isOk());
+
+        Cookie primaryReadsUntil = mockMvc.perform(post("/api/v1/user/logout"))
+                .andReturn()
+                .getResponse()
+                .getCookie("primary_reads_until");
+        assertThat(primaryReadsUntil).isNotNull();
+
+        mockMvc.perform(get("/api/v1/user/{userId}", REPLICA_ONLY_USER_ID).cookie(primaryReadsUntil))
+                .andExpect(status().isNotFound());
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
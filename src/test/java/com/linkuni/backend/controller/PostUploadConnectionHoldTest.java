@@ -0,0 +1,133 @@
+package com.linkuni.backend.controller;
+
+import com.linkuni.backend.model.User;
+import com.linkuni.backend.repository.UserRepository;
+import com.linkuni.backend.security.JwtUtils;
+import com.linkuni.backend.service.S3Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures how long an upload holds a database connection. The S3 upload is slowed down, so a
+ * connection held across it would show up in the db.connection.hold timer of the upload handler
+ * as a hold time per upload of at least the upload's duration.
+ */
+@SpringBootTest(properties = "aws.s3.async.enabled=false")
+@AutoConfigureMockMvc
+class PostUploadConnectionHoldTest {
+
+    private static final int UPLOADS = 5;
+    private static final long S3_UPLOAD_MILLIS = 500;
+
+    private static final EmbeddedPostgres postgres = startPostgres();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @MockBean
+    private S3Service s3Service;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void uploadDoesNotHoldAConnectionWhileTheFileIsStored() throws Exception {
+        when(s3Service.uploadFile(any())).thenAnswer(invocation -> {
+            Thread.sleep(S3_UPLOAD_MILLIS);
+            return new S3Service.S3FileDetails("test/notes.png", "http://localhost:9000/test/notes.png");
+        });
+
+        User user = userRepository.save(newUser());
+        Cookie token = new Cookie("token", jwtUtils.generateTokenFromUserId(user.getUserId()));
+
+        // The first upload also pays for warming up Hibernate and the connection pool
+        upload(token, "Warm-up");
+        Timer hold = meterRegistry.find("db.connection.hold")
+                .tag("handler", "PostController.uploadPost")
+                .timer();
+        assertThat(hold).isNotNull();
+        long countBefore = hold.count();
+        double totalBefore = hold.totalTime(TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < UPLOADS; i++) {
+            upload(token, "Notes " + i);
+        }
+
+        double holdPerUpload = (hold.totalTime(TimeUnit.MILLISECONDS) - totalBefore) / UPLOADS;
+        assertThat(hold.count() - countBefore).isGreaterThanOrEqualTo(UPLOADS);
+        assertThat(holdPerUpload).isLessThan((double) S3_UPLOAD_MILLIS);
+    }
+
+    private void upload(Cookie token, String title) throws Exception {
+        MvcResult result = mockMvc.perform(multipart("/api/v1/posts/upload")
+                        .file(new MockMultipartFile("file", "notes.png", "image/png", new byte[] {1, 2, 3}))
+                        .param("title", title)
+                        .param("program", "Computer Science")
+                        .param("course", "CS101")
+                        .param("resourceType", "Notes")
+                        .cookie(token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    private static User newUser() {
+        User user = new User();
+        user.setUsername("uploader");
+        user.setFirstname("Test");
+        user.setEmail("uploader@example.com");
+        user.setPassword("not-a-real-hash");
+        return user;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}